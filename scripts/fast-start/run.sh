@@ -0,0 +1,7 @@
+#!/bin/sh
+# CDS 아카이브가 없거나 JVM 이 달라 쓸 수 없으면 -Xshare:auto 로 일반 클래스 로딩을 합니다.
+cd "$(dirname "$0")"
+exec java -XX:SharedArchiveFile=application.jsa -Xshare:auto \
+    $(cat jvm.options) \
+    $JAVA_OPTS \
+    -jar application.jar "$@"
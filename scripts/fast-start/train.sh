@@ -0,0 +1,15 @@
+#!/bin/sh
+# 컨텍스트를 띄운 직후(onRefresh) 종료하면서 그때까지 로드한 클래스를 application.jsa 로 저장합니다.
+# CDS 아카이브는 만든 JVM 에서만 쓸 수 있으므로 실행할 이미지 안에서 다시 실행합니다.
+set -e
+cd "$(dirname "$0")"
+
+set -a
+. ./training.env
+set +a
+
+rm -f application.jsa
+java -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.context.exit=onRefresh \
+    $(cat jvm.options) \
+    -jar application.jar
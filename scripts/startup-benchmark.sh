@@ -0,0 +1,49 @@
+#!/bin/sh
+# 일반 jar 와 fast-start 산출물을 번갈아 띄워 첫 요청까지 걸린 시간과 그때의 RSS 를 비교합니다.
+# 사용법: ./gradlew bootJar fastStart && scripts/startup-benchmark.sh [반복 횟수]
+set -e
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${STARTUP_BENCHMARK_PORT:-18080}
+PLAIN_JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+FAST_START_DIR=build/fast-start
+
+set -a
+. scripts/fast-start/training.env
+set +a
+
+now_millis() {
+    date +%s%3N
+}
+
+# $1: 이름, 나머지: 실행 명령
+measure() {
+    name=$1
+    shift
+    started=$(now_millis)
+    "$@" --server.port="$PORT" --warmup.enabled=false > "build/startup-benchmark-$name.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/actuator/health/liveness" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "$name exited before the first request, see build/startup-benchmark-$name.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(($(now_millis) - started))
+    rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$name $elapsed $rss"
+}
+
+echo "run time-to-first-request(ms) rss(kB)"
+for i in $(seq "$RUNS"); do
+    measure plain java -jar "$PLAIN_JAR"
+    measure fast-start "$FAST_START_DIR/run.sh"
+done | tee build/startup-benchmark.txt
+
+awk '{ count[$1]++; time[$1] += $2; rss[$1] += $3 }
+     END { for (name in count) printf "%-10s mean %7.0f ms  %8.0f kB\n", name, time[name] / count[name], rss[name] / count[name] }' \
+    build/startup-benchmark.txt
@@ -0,0 +1,216 @@
+package codeping.flex.gateway.benchmark;
+
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
+import codeping.flex.gateway.metrics.GatewayStageTimers;
+import codeping.flex.gateway.security.filter.AccessTokenFilter;
+import codeping.flex.gateway.security.filter.EndpointSecurity;
+import codeping.flex.gateway.security.filter.EndpointSecurityPolicy;
+import codeping.flex.gateway.security.filter.PassportHeaders;
+import codeping.flex.gateway.security.jwt.AuthConstants;
+import codeping.flex.gateway.security.jwt.TokenDigest;
+import codeping.flex.gateway.security.jwt.access.AccessTokenValidator;
+import codeping.flex.gateway.security.jwt.key.KeyRingSigningKeyResolver;
+import codeping.flex.gateway.security.jwt.revocation.TokenRevocationList;
+import codeping.flex.gateway.security.passport.PassportBatcher;
+import codeping.flex.gateway.security.passport.PassportCache;
+import codeping.flex.gateway.security.passport.PassportProperties;
+import codeping.flex.gateway.security.passport.PassportResilience;
+import codeping.flex.gateway.security.passport.PassportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Mono;
+
+/**
+ * 인증 필터의 단계별 비용과 전체 필터 비용을 측정합니다.
+ * <ul>
+ *     <li>extractToken, validateToken, matchEndpoint, addPassportHeaders: AccessTokenFilter 가 요청마다 거치는 각 단계</li>
+ *     <li>addPassportHeadersByMutate: request.mutate() 로 Passport 헤더를 추가하던 이전 방식</li>
+ *     <li>fullChain: 다음 필터를 바로 완료하는 GatewayFilterChain 으로 AccessTokenFilter.filter 전체를 실행</li>
+ * </ul>
+ * fullChain 은 Passport 를 캐시에서 찾는 라우트(cached)와 토큰 클레임으로 만드는 라우트(local)를 나눠 측정합니다.
+ * 할당량은 ./gradlew jmh 의 gc 프로파일러 결과(gc.alloc.rate.norm)로 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessTokenFilterBenchmark {
+
+    private static final String PATH = "/api/blogs/42/posts";
+    private static final String CACHED_ROUTE = "blog-service";
+    private static final String LOCAL_ROUTE = "user-service";
+    private static final GatewayFilterChain COMPLETING_CHAIN = exchange -> Mono.empty();
+
+    private String token;
+    private ServerHttpRequest request;
+    private Map<String, String> passport;
+    private AccessTokenValidator accessTokenValidator;
+    private EndpointSecurityPolicy endpointSecurityPolicy;
+    private AccessTokenFilter accessTokenFilter;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        token = BenchmarkTokens.accessToken(BenchmarkTokens.SECRET, 1L);
+        request = MockServerHttpRequest.get(PATH)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+        passport = Map.of(
+                "id", "1",
+                "role", "user",
+                "email", "benchmark@do-flex.co.kr",
+                "nickname", "flex",
+                "blogName", "flex-blog"
+        );
+
+        accessTokenValidator = new AccessTokenValidator(new KeyRingSigningKeyResolver(BenchmarkTokens.SECRET), 10_000,
+                new TokenRevocationList(AccessTokenValidatorBenchmark.revocationProperties(), meterRegistry), meterRegistry);
+        accessTokenValidator.validateToken(token).block();
+        endpointSecurityPolicy = new EndpointSecurityPolicy(securityEnvironment(), new AntPathMatcher(), meterRegistry);
+
+        PassportProperties properties = passportProperties();
+        PassportCache passportCache = new PassportCache(properties, meterRegistry);
+        passportCache.put(TokenDigest.sha256(token), passport, Instant.now().plusSeconds(3600));
+        // 캐시 적중과 클레임 변환만 측정하므로 USER-SERVICE 클라이언트는 사용되지 않습니다.
+        PassportService passportService = new PassportService(
+                null,
+                passportCache,
+                new PassportBatcher(null, properties, meterRegistry),
+                new PassportResilience(properties, meterRegistry),
+                properties,
+                meterRegistry
+        );
+        accessTokenFilter = new AccessTokenFilter(accessTokenValidator, new ErrorResponseBodies(new ObjectMapper()),
+                endpointSecurityPolicy, passportService, new GatewayStageTimers(meterRegistry), meterRegistry);
+    }
+
+    @Benchmark
+    public String extractToken() {
+        return accessTokenValidator.extractToken(request);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return accessTokenValidator.validateToken(token).block();
+    }
+
+    @Benchmark
+    public EndpointSecurity matchEndpoint() {
+        return endpointSecurityPolicy.match(PATH);
+    }
+
+    @Benchmark
+    public ServerHttpRequest addPassportHeaders() {
+        return PassportHeaders.addTo(request, passport);
+    }
+
+    /**
+     * 헤더 맵을 복사해 새 요청을 만들던 이전 방식으로, addPassportHeaders 와 할당량을 비교하기 위해 남겨둡니다.
+     */
+    @Benchmark
+    public ServerHttpRequest addPassportHeadersByMutate() {
+        ServerHttpRequest.Builder builder = request.mutate();
+        passport.forEach((key, value) -> builder.header(AuthConstants.PASSPORT_HEADER_PREFIX.getValue() + key, value));
+        return builder.build();
+    }
+
+    /**
+     * Passport 헤더를 덧씌운 요청의 헤더를 NettyRoutingFilter 처럼 한 번 모두 읽는 비용까지 측정합니다.
+     */
+    @Benchmark
+    public int forwardPassportHeaders() {
+        int count = 0;
+        for (Map.Entry<String, List<String>> header : PassportHeaders.addTo(request, passport).getHeaders().entrySet()) {
+            count += header.getValue().size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public MockServerWebExchange fullChain(PassportRoute passportRoute) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, passportRoute.route);
+        accessTokenFilter.filter(exchange, COMPLETING_CHAIN).block();
+        return exchange;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PassportRoute {
+
+        @Param({"cached", "local"})
+        public String passportMode;
+
+        private Route route;
+
+        @Setup
+        public void setUp() {
+            String routeId = "local".equals(passportMode) ? LOCAL_ROUTE : CACHED_ROUTE;
+            route = Route.async()
+                    .id(routeId)
+                    .uri("lb://" + routeId)
+                    .predicate(exchange -> true)
+                    .build();
+        }
+    }
+
+    /**
+     * EndpointSecurityMatcherBenchmark 와 같은 security.endpoints 설정을 가진 환경을 만듭니다.
+     */
+    private static StandardEnvironment securityEnvironment() {
+        Map<String, Object> source = new HashMap<>();
+        putAll(source, "internal", EndpointSecurityMatcherBenchmark.INTERNAL_ENDPOINTS);
+        putAll(source, "read-only-public", EndpointSecurityMatcherBenchmark.READ_ONLY_PUBLIC_ENDPOINTS);
+        putAll(source, "anonymous", EndpointSecurityMatcherBenchmark.ANONYMOUS_ENDPOINTS);
+        putAll(source, "swagger", EndpointSecurityMatcherBenchmark.SWAGGER_ENDPOINTS);
+        putAll(source, "exclude-token-validation", EndpointSecurityMatcherBenchmark.EXCLUDE_TOKEN_VALIDATION);
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", source));
+        return environment;
+    }
+
+    private static void putAll(Map<String, Object> source, String key, String[] patterns) {
+        for (int i = 0; i < patterns.length; i++) {
+            source.put("security.endpoints." + key + "[" + i + "]", patterns[i]);
+        }
+    }
+
+    private static PassportProperties passportProperties() {
+        return new PassportProperties(
+                new PassportProperties.Cache(Duration.ofMinutes(30), 10_000),
+                new PassportProperties.Local(List.of(LOCAL_ROUTE), Map.of("id", "id", "role", "role", "email", "email")),
+                new PassportProperties.Batch(false, Duration.ofMillis(2), 64, Duration.ofMinutes(5), 1024),
+                new PassportProperties.Resilience(
+                        Duration.ofSeconds(1),
+                        PassportProperties.Resilience.FallbackPolicy.STALE,
+                        Duration.ofMinutes(5),
+                        new PassportProperties.Resilience.CircuitBreaker(50, 20, 10, Duration.ofSeconds(10), 3),
+                        new PassportProperties.Resilience.Hedge(false, Duration.ofMillis(50))
+                )
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package codeping.flex.gateway.benchmark;
+
+import codeping.flex.gateway.security.jwt.access.AccessTokenValidator;
+import codeping.flex.gateway.security.jwt.key.KeyRingSigningKeyResolver;
+import codeping.flex.gateway.security.jwt.revocation.RevocationProperties;
+import codeping.flex.gateway.security.jwt.revocation.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 액세스 토큰 검증 처리량(verifications/s)을 비교합니다.
+ * <ul>
+ *     <li>perRequestParser: 요청마다 키를 디코딩하고 JwtParser 를 새로 만드는 기존 방식</li>
+ *     <li>sharedParser: 키와 JwtParser 를 재사용하는 방식</li>
+ *     <li>verifiedTokenCache: 검증된 토큰 캐시에 적중하는 경우 (AccessTokenValidator)</li>
+ *     <li>revocationCheck: 폐기 토큰 10,000 개가 등록된 목록에서 폐기되지 않은 jti 를 확인하는 경우</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccessTokenValidatorBenchmark {
+
+    private static final int REVOKED_TOKENS = 10_000;
+
+    private String token;
+    private String jti;
+    private JwtParser sharedParser;
+    private AccessTokenValidator accessTokenValidator;
+    private TokenRevocationList revocationList;
+
+    @Setup
+    public void setUp() {
+        token = BenchmarkTokens.accessToken(BenchmarkTokens.SECRET, 1L);
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkTokens.SECRET));
+        sharedParser = Jwts.parserBuilder().setSigningKey(key).build();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        revocationList = new TokenRevocationList(revocationProperties(), meterRegistry);
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            revocationList.revoke(UUID.randomUUID().toString(), Instant.now().plusSeconds(3600));
+        }
+        jti = UUID.randomUUID().toString();
+        accessTokenValidator = new AccessTokenValidator(new KeyRingSigningKeyResolver(BenchmarkTokens.SECRET), 10_000,
+                revocationList, meterRegistry);
+        accessTokenValidator.getClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public Claims perRequestParser() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkTokens.SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims verifiedTokenCache() {
+        return accessTokenValidator.getClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public boolean revocationCheck() {
+        return revocationList.isRevoked(jti, token);
+    }
+
+    /**
+     * 벤치마크에서 쓰는 폐기 목록 설정입니다. (피드 파일은 읽지 않음)
+     */
+    static RevocationProperties revocationProperties() {
+        return new RevocationProperties(true, 100_000, 1_000_000, 0.001, Duration.ofMinutes(5), Duration.ofDays(14), Duration.ofDays(14),
+                new RevocationProperties.Feed("build/jmh-revocations.log", Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,74 @@
+package codeping.flex.gateway.benchmark;
+
+import codeping.flex.gateway.global.common.logging.LogSampler;
+import codeping.flex.gateway.global.common.response.ApplicationResponse;
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
+import codeping.flex.gateway.global.common.response.code.BaseErrorCode;
+import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBufAllocator;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+/**
+ * 인증 실패 응답 경로의 처리량을 비교합니다.
+ * perRequestSerialization 은 요청마다 ApplicationResponse 를 직렬화하던 기존 방식,
+ * preRendered 는 미리 직렬화한 본문을 감싸고 실패 메트릭과 샘플링 로그 판단까지 포함한 현재 방식입니다.
+ * 토큰 스프레이처럼 여러 스레드에서 동시에 거절하는 상황을 보기 위해 8 스레드로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class AuthRejectionBenchmark {
+
+    @Param({"JWT_EXPIRED", "INVALID_JWT", "EMPTY_TOKEN"})
+    public GatewayErrorCode errorCode;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LogSampler logSampler = new LogSampler(Duration.ofSeconds(10));
+    private ErrorResponseBodies errorResponseBodies;
+    private Counter rejections;
+
+    @Setup
+    public void setUp() {
+        errorResponseBodies = new ErrorResponseBodies(objectMapper);
+        rejections = Counter.builder("gateway.auth.rejections").register(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public int perRequestSerialization() throws JsonProcessingException {
+        BaseErrorCode code = errorCode;
+        byte[] bytes = objectMapper.writeValueAsBytes(ApplicationResponse.onFailure(code.getCustomCode(), code.getMessage(), null));
+        return release(bufferFactory.wrap(bytes));
+    }
+
+    @Benchmark
+    public int preRendered() {
+        rejections.increment();
+        logSampler.sample();
+        return release(errorResponseBodies.bodyOf(bufferFactory, errorCode));
+    }
+
+    private static int release(DataBuffer buffer) {
+        int length = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return length;
+    }
+}
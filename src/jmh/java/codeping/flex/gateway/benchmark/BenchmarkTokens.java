@@ -0,0 +1,31 @@
+package codeping.flex.gateway.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.time.Instant;
+import java.util.Date;
+import javax.crypto.SecretKey;
+
+final class BenchmarkTokens {
+
+    static final String SECRET = "943cb527164de7a08667b48ae9279a3888545bdcb83f1da6d178370eb015aecb";
+
+    private BenchmarkTokens() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static String accessToken(String secret, long userId) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .claim("id", String.valueOf(userId))
+                .claim("role", "user")
+                .claim("type", "ACCESS")
+                .claim("email", "benchmark@do-flex.co.kr")
+                .setExpiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
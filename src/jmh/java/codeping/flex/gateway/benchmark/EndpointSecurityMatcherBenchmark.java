@@ -0,0 +1,79 @@
+package codeping.flex.gateway.benchmark;
+
+import codeping.flex.gateway.security.filter.EndpointSecurity;
+import codeping.flex.gateway.security.filter.EndpointSecurityMatcher;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * 요청마다 Stream 으로 AntPathMatcher 를 검사하던 기존 방식과 컴파일된 세그먼트 트라이를 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EndpointSecurityMatcherBenchmark {
+
+    static final String[] READ_ONLY_PUBLIC_ENDPOINTS = {"/favicon.ico"};
+    static final String[] ANONYMOUS_ENDPOINTS = {
+            "/api/auth/login/**", "/api/auth/signup/**", "/api/blogs/landings/latest", "/api/blogs/landings/popular",
+            "/api/users/checkBlogName", "/api/kis/stocks/**", "/api/news-summary/todaynews", "/api/transactions/rankings"
+    };
+    static final String[] INTERNAL_ENDPOINTS = {"/api/kis/stocks/**", "/api/stocks/image-url"};
+    static final String[] EXCLUDE_TOKEN_VALIDATION = {"/api/auth/reissue"};
+    static final String[] SWAGGER_ENDPOINTS = {
+            "/api/v3/api-docs/**", "/api/swagger-ui/**", "/api/swagger-ui.html", "/api/webjars/**", "/swagger-resources/**",
+            "/api/blog-service/v3/api-docs", "/api/user-service/v3/api-docs", "/api/news-service/openapi.json",
+            "/api/stock-service/v3/api-docs", "/api/investment-service/v3/api-docs",
+            "/api/stock-integration-service/v3/api-docs", "/api/stock-integration-service/openapi.json",
+            "/api/image-service/openapi.json", "/api/stock-test-service/openapi.json"
+    };
+
+    @Param({"/api/blogs/42/posts", "/api/kis/stocks/005930/price", "/api/auth/reissue", "/api/swagger-ui.html"})
+    public String path;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private EndpointSecurityMatcher endpointSecurityMatcher;
+
+    @Setup
+    public void setUp() {
+        Map<EndpointSecurity, List<String>> patterns = new EnumMap<>(EndpointSecurity.class);
+        patterns.put(EndpointSecurity.INTERNAL, List.of(INTERNAL_ENDPOINTS));
+        patterns.put(EndpointSecurity.PUBLIC, List.of(READ_ONLY_PUBLIC_ENDPOINTS));
+        patterns.put(EndpointSecurity.ANONYMOUS, List.of(ANONYMOUS_ENDPOINTS));
+        patterns.put(EndpointSecurity.SWAGGER, List.of(SWAGGER_ENDPOINTS));
+        patterns.put(EndpointSecurity.EXCLUDE_VALIDATION, List.of(EXCLUDE_TOKEN_VALIDATION));
+        endpointSecurityMatcher = EndpointSecurityMatcher.compile(patterns, pathMatcher);
+    }
+
+    @Benchmark
+    public boolean streamAntPathMatcher() {
+        boolean anonymous = Stream.of(INTERNAL_ENDPOINTS, READ_ONLY_PUBLIC_ENDPOINTS, ANONYMOUS_ENDPOINTS, SWAGGER_ENDPOINTS)
+                .flatMap(Arrays::stream)
+                .peek(endpoint -> pathMatcher.match(endpoint, path))
+                .anyMatch(endpoint -> pathMatcher.match(endpoint, path));
+        if (anonymous) {
+            return false;
+        }
+        return Stream.of(EXCLUDE_TOKEN_VALIDATION).noneMatch(endpoint -> pathMatcher.match(endpoint, path));
+    }
+
+    @Benchmark
+    public boolean compiledMatcher() {
+        EndpointSecurity endpointSecurity = endpointSecurityMatcher.match(path);
+        return !endpointSecurity.isAnonymous() && endpointSecurity.requiresTokenValidation();
+    }
+}
@@ -0,0 +1,51 @@
+package codeping.flex.gateway.benchmark;
+
+import codeping.flex.gateway.ratelimit.RateLimitBuckets;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 64 스레드가 동시에 토큰을 꺼낼 때 버킷 저장소의 처리 시간을 측정합니다.
+ * keys=1 은 라우트 단위 버킷처럼 모든 스레드가 한 버킷을 두고 CAS 경합하는 경우이고,
+ * 키가 많을수록 사용자 단위 버킷처럼 경합이 흩어지는 경우입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(64)
+public class RateLimitBucketsBenchmark {
+
+    private static final long EMISSION_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final int BURST_CAPACITY = 1_000;
+
+    @Param({"1", "64", "10000"})
+    public int keys;
+
+    private RateLimitBuckets rateLimitBuckets;
+    private String[] keyNames;
+
+    @Setup
+    public void setUp() {
+        rateLimitBuckets = new RateLimitBuckets(new SimpleMeterRegistry());
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "stock-test-service:user:" + i;
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        String key = keyNames[ThreadLocalRandom.current().nextInt(keys)];
+        return rateLimitBuckets.tryAcquire(key, EMISSION_INTERVAL_NANOS, BURST_CAPACITY);
+    }
+}
@@ -0,0 +1,94 @@
+package codeping.flex.gateway.benchmark;
+
+import codeping.flex.gateway.route.IndexedRoutePredicateHandlerMapping;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.handler.predicate.HostRoutePredicateFactory;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * 라우트 수에 따른 라우트 조회 비용을 기본 순차 평가(sequential)와 Path 패턴 트라이(indexed)로 비교합니다.
+ * 라우트는 gateway.yml 처럼 서비스마다 Path 패턴 여러 개를 갖고, 그중 하나는 Host predicate 를 써서 항상 평가됩니다.
+ * 요청은 우선순위가 가장 낮은 라우트에 매칭되어 순차 평가에는 가장 나쁜 경우입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouteLookupBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int routeCount;
+
+    @Param({"sequential", "indexed"})
+    public String lookup;
+
+    private RoutePredicateHandlerMapping handlerMapping;
+    private String path;
+
+    @Setup
+    public void setUp() {
+        List<Route> routes = new ArrayList<>();
+        List<RouteDefinition> definitions = new ArrayList<>();
+        routes.add(Route.async()
+                .id("host-route")
+                .uri("http://localhost")
+                .asyncPredicate(new HostRoutePredicateFactory().applyAsync(config -> config.setPatterns(List.of("admin.do-flex.co.kr"))))
+                .build());
+        for (int i = 0; i < routeCount; i++) {
+            String id = "service-" + i;
+            List<String> patterns = List.of("/api/" + id + "/**", "/api/" + id + "-items/{id}", "/api/" + id + "-service/**");
+            routes.add(Route.async()
+                    .id(id)
+                    .uri("http://localhost")
+                    .order(i + 1)
+                    .asyncPredicate(new PathRoutePredicateFactory().applyAsync(config -> config.setPatterns(patterns)))
+                    .build());
+            RouteDefinition definition = new RouteDefinition();
+            definition.setId(id);
+            definition.setUri(URI.create("http://localhost"));
+            definition.setPredicates(List.of(new PredicateDefinition("Path=" + String.join(",", patterns))));
+            definitions.add(definition);
+        }
+        path = "/api/service-" + (routeCount - 1) + "/posts/42";
+
+        RouteLocator routeLocator = () -> Flux.fromIterable(routes);
+        RouteDefinitionLocator routeDefinitionLocator = () -> Flux.fromIterable(definitions);
+        FilteringWebHandler webHandler = new FilteringWebHandler(List.of());
+        if (lookup.equals("indexed")) {
+            IndexedRoutePredicateHandlerMapping indexed = new IndexedRoutePredicateHandlerMapping(webHandler, routeLocator,
+                    routeDefinitionLocator, new GlobalCorsProperties(), new StandardEnvironment());
+            indexed.refreshIndex().block();
+            handlerMapping = indexed;
+        } else {
+            handlerMapping = new RoutePredicateHandlerMapping(webHandler, routeLocator, new GlobalCorsProperties(),
+                    new StandardEnvironment());
+        }
+    }
+
+    @Benchmark
+    public Object lookupRoute() {
+        return handlerMapping.getHandler(MockServerWebExchange.from(MockServerHttpRequest.get(path))).block();
+    }
+}
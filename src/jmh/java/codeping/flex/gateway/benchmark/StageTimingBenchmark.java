@@ -0,0 +1,89 @@
+package codeping.flex.gateway.benchmark;
+
+import codeping.flex.gateway.metrics.ExchangeTimings;
+import codeping.flex.gateway.metrics.GatewayStage;
+import codeping.flex.gateway.metrics.GatewayStageTimers;
+import codeping.flex.gateway.metrics.ResponseWriteTimingFilter;
+import codeping.flex.gateway.metrics.UpstreamTimingFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 구간 시간 기록이 요청마다 더하는 비용과 할당량을 기록하지 않는 경우와 비교합니다.
+ * <ul>
+ *     <li>untimedChain, timedChain: 바로 완료되는 체인을 그대로 실행한 경우와 ResponseWriteTimingFilter, UpstreamTimingFilter 로 감싼 경우</li>
+ *     <li>untimedMono, timedMono: Passport 발급처럼 바로 값을 내는 Mono 를 그대로 구독한 경우와 GatewayStageTimers.time 으로 감싼 경우</li>
+ * </ul>
+ * exchange 는 하나를 재사용하고 호출마다 {@link ExchangeTimings} 만 지우므로, 두 쌍의 gc.alloc.rate.norm 차이가 구간 기록의 요청당 할당량입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StageTimingBenchmark {
+
+    private static final String ROUTE_ID = "blog-service";
+    private static final GatewayFilterChain COMPLETING_CHAIN = exchange -> Mono.empty();
+
+    private MockServerWebExchange exchange;
+    private GatewayStageTimers gatewayStageTimers;
+    private ResponseWriteTimingFilter responseWriteTimingFilter;
+    private GatewayFilterChain upstreamChain;
+    private Mono<Map<String, String>> passport;
+
+    @Setup
+    public void setUp() {
+        gatewayStageTimers = new GatewayStageTimers(new SimpleMeterRegistry());
+        UpstreamTimingFilter upstreamTimingFilter = new UpstreamTimingFilter(gatewayStageTimers);
+        responseWriteTimingFilter = new ResponseWriteTimingFilter(gatewayStageTimers);
+        upstreamChain = exchange -> upstreamTimingFilter.filter(exchange, COMPLETING_CHAIN);
+        passport = Mono.just(Map.of("id", "1", "role", "USER"));
+
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/blogs/42/posts"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(ROUTE_ID)
+                .uri("lb://" + ROUTE_ID)
+                .predicate(serverWebExchange -> true)
+                .build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("http://blog-service/api/blogs/42/posts"));
+        // 타이머 등록은 처음 한 번만 일어나므로 측정 전에 끝내 둡니다.
+        timedChain();
+        timedMono();
+    }
+
+    @Benchmark
+    public void untimedChain() {
+        exchange.getAttributes().remove(ExchangeTimings.ATTR);
+        COMPLETING_CHAIN.filter(exchange).block();
+    }
+
+    @Benchmark
+    public void timedChain() {
+        exchange.getAttributes().remove(ExchangeTimings.ATTR);
+        responseWriteTimingFilter.filter(exchange, upstreamChain).block();
+    }
+
+    @Benchmark
+    public Map<String, String> untimedMono() {
+        return passport.block();
+    }
+
+    @Benchmark
+    public Map<String, String> timedMono() {
+        return gatewayStageTimers.time(passport, ROUTE_ID, GatewayStage.PASSPORT_FETCH).block();
+    }
+}
@@ -0,0 +1,94 @@
+package codeping.flex.gateway.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * 로컬 스텁 서버로 업스트림 호출 한 번의 지연 시간을 전송 방식별로 측정합니다.
+ * newConnection 은 요청마다 커넥션을 맺는 경우, pooled 는 라우트 전용 HTTP/1.1 풀, h2c 는 HTTP/2 다중화입니다.
+ * 측정이 끝나면 서버가 받은 커넥션 수를 요청 수와 함께 출력해 커넥션 재사용 정도를 보여줍니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class UpstreamConnectionBenchmark {
+
+    private static final String PAYLOAD = "{\"posts\":[]}";
+
+    @Param({"newConnection", "pooled", "h2c"})
+    public String transport;
+
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private HttpClient httpClient;
+
+    @Setup
+    public void setUp() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .doOnConnection(connection -> connections.incrementAndGet())
+                .handle((request, response) -> {
+                    requests.incrementAndGet();
+                    return response.sendString(Mono.just(PAYLOAD));
+                })
+                .bindNow();
+
+        HttpClient client = switch (transport) {
+            case "newConnection" -> HttpClient.newConnection();
+            case "pooled" -> HttpClient.create(connectionProvider = ConnectionProvider.builder("benchmark-pooled")
+                    .maxConnections(64)
+                    .build());
+            case "h2c" -> HttpClient.create(connectionProvider = ConnectionProvider.builder("benchmark-h2c")
+                            .allocationStrategy(Http2AllocationStrategy.builder()
+                                    .maxConnections(4)
+                                    .minConnections(1)
+                                    .maxConcurrentStreams(100)
+                                    .build())
+                            .build())
+                    .protocol(HttpProtocol.H2C);
+            default -> throw new IllegalArgumentException("Unknown transport: " + transport);
+        };
+        httpClient = client.baseUrl("http://127.0.0.1:" + server.port());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s: %d connections for %d requests%n", transport, connections.get(), requests.get());
+        if (connectionProvider != null) {
+            connectionProvider.disposeLater().block();
+        }
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public String call() {
+        return httpClient.get()
+                .uri("/api/blogs/landings/latest")
+                .responseContent()
+                .aggregate()
+                .asString()
+                .block();
+    }
+}
@@ -0,0 +1,203 @@
+package codeping.flex.gateway.loadtest;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 게이트웨이 전체를 띄우고 라우트마다 로컬 스텁 서비스를 붙여 고정된 요청 속도로 부하를 주는 테스트입니다.
+ * 인증 필터, Passport 발급(스텁 USER-SERVICE), 라우팅, 프록시를 모두 거친 응답 시간을 HdrHistogram 으로 기록하고,
+ * application-loadtest.yml 의 SLO 를 넘는 라우트가 있으면 실패합니다. 외부 네트워크 없이 한 대의 Linux 장비에서 실행됩니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+public class GatewayLoadTest {
+
+    private static final StubService PASSPORT = StubService.start("{\"id\":\"1\",\"role\":\"user\",\"email\":\"load-test@do-flex.co.kr\"}");
+    private static final Map<String, StubService> BACKENDS = Map.of(
+            "blog-service", StubService.start("{\"isSuccess\":true,\"code\":\"COMMON_200\",\"result\":{\"title\":\"load test\"}}"),
+            "stock-service", StubService.start("{\"isSuccess\":true,\"code\":\"COMMON_200\",\"result\":{\"price\":71000}}")
+    );
+    private static final Map<String, String> ROUTE_PATHS = Map.of(
+            "blog-service", "Path=/api/blogs/**",
+            "stock-service", "Path=/api/stocks/**"
+    );
+    /**
+     * 비교 시나리오와 같은 경로, 같은 스텁으로 가지만 이 헤더가 있으면 Passport 를 토큰 클레임으로 만드는 라우트로 갑니다.
+     */
+    private static final String PASSPORT_MODE_HEADER = "X-Load-Test-Passport";
+    private static final String LOCAL_PASSPORT_ROUTE_SUFFIX = "-local-passport";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @DynamicPropertySource
+    static void stubServices(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.USER-SERVICE[0].uri", PASSPORT::baseUrl);
+        List<String> routeIds = new ArrayList<>(BACKENDS.keySet());
+        for (int i = 0; i < routeIds.size(); i++) {
+            String routeId = routeIds.get(i);
+            registry.add("spring.cloud.gateway.routes[" + i + "].id", () -> routeId);
+            registry.add("spring.cloud.gateway.routes[" + i + "].uri", BACKENDS.get(routeId)::baseUrl);
+            registry.add("spring.cloud.gateway.routes[" + i + "].predicates[0]", () -> ROUTE_PATHS.get(routeId));
+        }
+        // 각 라우트 옆에 헤더로만 구분되는 로컬 Passport 라우트를 더합니다. (우선순위가 높아 헤더가 있으면 먼저 매칭)
+        List<String> localRouteIds = new ArrayList<>();
+        for (int i = 0; i < routeIds.size(); i++) {
+            String routeId = routeIds.get(i);
+            String localRouteId = routeId + LOCAL_PASSPORT_ROUTE_SUFFIX;
+            int index = routeIds.size() + i;
+            localRouteIds.add(localRouteId);
+            registry.add("spring.cloud.gateway.routes[" + index + "].id", () -> localRouteId);
+            registry.add("spring.cloud.gateway.routes[" + index + "].uri", BACKENDS.get(routeId)::baseUrl);
+            registry.add("spring.cloud.gateway.routes[" + index + "].order", () -> -1);
+            registry.add("spring.cloud.gateway.routes[" + index + "].predicates[0]", () -> ROUTE_PATHS.get(routeId));
+            registry.add("spring.cloud.gateway.routes[" + index + "].predicates[1]", () -> "Header=" + PASSPORT_MODE_HEADER + ", local");
+        }
+        registry.add("passport.local.routes", () -> String.join(",", localRouteIds));
+    }
+
+    /**
+     * 모든 라우트가 설정된 요청 속도에서 p50, p99, p99.9 응답 시간과 에러율 SLO 를 지켜야 함
+     */
+    @Test
+    void testRoutesMeetLatencySlo() throws IOException {
+        LoadTestProperties properties = Binder.get(environment).bindOrCreate("loadtest", LoadTestProperties.class);
+        PASSPORT.configure(properties.passport().latency(), properties.passport().errorRate());
+        properties.scenarios().forEach((routeId, scenario) ->
+                BACKENDS.get(routeId).configure(scenario.backend().latency(), scenario.backend().errorRate()));
+
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.builder("load-test")
+                .maxConnections(2_000)
+                .pendingAcquireMaxCount(-1)
+                .build());
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(httpClient, "http://127.0.0.1:" + port, accessTokens(properties.users()));
+
+        List<CompletableFuture<RouteResult>> runs = properties.scenarios().entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() ->
+                        generator.run(entry.getKey(), entry.getValue(), properties.warmup(), properties.duration())))
+                .toList();
+        List<RouteResult> results = runs.stream().map(CompletableFuture::join).toList();
+
+        report(Path.of(properties.reportDir()), results);
+        List<String> violations = results.stream()
+                .flatMap(result -> {
+                    LoadTestProperties.Scenario scenario = properties.scenarios().get(result.routeId());
+                    return result.violations(scenario.slo(), scenario.rate()).stream();
+                })
+                .toList();
+        assertTrue(violations.isEmpty(), "SLO violations:\n" + String.join("\n", violations));
+    }
+
+    /**
+     * 같은 경로를 USER-SERVICE Passport 발급(fetch)과 토큰 클레임 로컬 생성(local)으로 차례로 보내 p99 를 비교합니다.
+     * Passport 캐시에 걸리면 두 방식의 차이가 사라지므로 요청마다 처음 보는 토큰을 사용해 캐시 미스 경로를 잽니다.
+     * 결과는 출력하고 passport-comparison.txt 로 저장하며, 두 방식 모두 시나리오의 에러율 SLO 를 지켜야 함
+     */
+    @Test
+    void testComparesPassportLocalDerivation() throws IOException {
+        LoadTestProperties properties = Binder.get(environment).bindOrCreate("loadtest", LoadTestProperties.class);
+        LoadTestProperties.PassportComparison comparison = properties.passportComparison();
+        assumeTrue(comparison.enabled(), "loadtest.passport-comparison.enabled=false");
+        LoadTestProperties.Scenario scenario = properties.scenarios().get(comparison.scenario());
+        PASSPORT.configure(properties.passport().latency(), properties.passport().errorRate());
+        BACKENDS.get(comparison.scenario()).configure(scenario.backend().latency(), scenario.backend().errorRate());
+
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.builder("load-test-passport")
+                .maxConnections(2_000)
+                .pendingAcquireMaxCount(-1)
+                .build());
+        String baseUrl = "http://127.0.0.1:" + port;
+        int tokensPerRun = (int) (scenario.rate() * (properties.warmup().toSeconds() + properties.duration().toSeconds() + 1));
+        long passportRequestsBefore = PASSPORT.requests();
+        RouteResult fetch = new OpenModelLoadGenerator(httpClient, baseUrl, accessTokens(tokensPerRun))
+                .run(comparison.scenario() + " (fetch)", scenario, properties.warmup(), properties.duration());
+        long passportRequests = PASSPORT.requests() - passportRequestsBefore;
+        RouteResult local = new OpenModelLoadGenerator(httpClient, baseUrl, accessTokens(tokensPerRun), Map.of(PASSPORT_MODE_HEADER, "local"))
+                .run(comparison.scenario() + " (local)", scenario, properties.warmup(), properties.duration());
+        long localPassportRequests = PASSPORT.requests() - passportRequestsBefore - passportRequests;
+
+        StringBuilder summary = new StringBuilder(RouteResult.header()).append('\n')
+                .append(fetch.summary()).append('\n')
+                .append(local.summary()).append('\n')
+                .append(String.format("passport p99 %.2fms (fetch) -> %.2fms (local), passport stub requests %d -> %d%n",
+                        fetch.percentile(99).toNanos() / 1_000_000.0, local.percentile(99).toNanos() / 1_000_000.0,
+                        passportRequests, localPassportRequests));
+        System.out.print(summary);
+        Path reportDir = Path.of(properties.reportDir());
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("passport-comparison.txt"), summary);
+
+        assertTrue(fetch.errorRate() <= scenario.slo().maxErrorRate(), fetch.summary());
+        assertTrue(local.errorRate() <= scenario.slo().maxErrorRate(), local.summary());
+    }
+
+    /**
+     * 요약 표를 출력하고, 라우트별 HdrHistogram 분포(ms 단위)와 요약을 파일로 저장합니다.
+     */
+    private void report(Path reportDir, List<RouteResult> results) throws IOException {
+        Files.createDirectories(reportDir);
+        StringBuilder summary = new StringBuilder(RouteResult.header()).append('\n');
+        results.forEach(result -> summary.append(result.summary()).append('\n'));
+        summary.append(String.format("passport stub requests: %d%n", PASSPORT.requests()));
+        System.out.print(summary);
+        Files.writeString(reportDir.resolve("summary.txt"), summary);
+
+        for (RouteResult result : results) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(result.routeId() + ".hgrm")))) {
+                Histogram latencies = result.latencies();
+                latencies.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    private List<String> accessTokens(int users) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(environment.getRequiredProperty("jwt.secret-key")));
+        Date expiration = Date.from(Instant.now().plus(Duration.ofHours(1)));
+        return IntStream.rangeClosed(1, users)
+                .mapToObj(userId -> Jwts.builder()
+                        .setId(UUID.randomUUID().toString())
+                        .setSubject(String.valueOf(userId))
+                        .claim("id", String.valueOf(userId))
+                        .claim("role", "user")
+                        .claim("type", "ACCESS")
+                        .setExpiration(expiration)
+                        .signWith(key, SignatureAlgorithm.HS256)
+                        .compact())
+                .toList();
+    }
+}
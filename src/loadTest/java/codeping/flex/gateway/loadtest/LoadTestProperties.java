@@ -0,0 +1,75 @@
+package codeping.flex.gateway.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * application-loadtest.yml 의 loadtest 설정입니다.
+ * @param duration  측정 시간
+ * @param warmup    측정 전에 같은 속도로 부하를 주고 결과를 버리는 시간
+ * @param users     요청에 번갈아 사용할 사용자(액세스 토큰) 수
+ * @param reportDir HdrHistogram 분포와 요약을 저장할 디렉터리
+ * @param passport  Passport 스텁 설정
+ * @param scenarios 라우트 id 별 부하 시나리오
+ * @param passportComparison Passport 로컬 생성 모드 비교 설정
+ */
+record LoadTestProperties(
+        @DefaultValue("30s") Duration duration,
+        @DefaultValue("5s") Duration warmup,
+        @DefaultValue("1000") int users,
+        @DefaultValue("build/reports/load-test") String reportDir,
+        @DefaultValue Backend passport,
+        Map<String, Scenario> scenarios,
+        @DefaultValue PassportComparison passportComparison
+) {
+
+    /**
+     * 같은 경로를 USER-SERVICE 발급과 토큰 클레임 로컬 생성(passport.local.routes)으로 번갈아 보내 응답 시간을 비교합니다.
+     * @param enabled  비교 실행 여부
+     * @param scenario 경로, 요청 속도, 스텁 설정을 가져올 시나리오
+     */
+    record PassportComparison(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("blog-service") String scenario
+    ) {
+    }
+
+    /**
+     * @param latency   스텁 응답 지연 시간
+     * @param errorRate 스텁이 500 을 응답할 비율 (0~1)
+     */
+    record Backend(
+            @DefaultValue("0ms") Duration latency,
+            @DefaultValue("0") double errorRate
+    ) {
+    }
+
+    /**
+     * @param path    요청 경로
+     * @param rate    초당 요청 수 (응답과 관계없이 일정한 간격으로 보냄)
+     * @param backend 라우트 뒤 스텁 서비스 설정
+     * @param slo     통과 기준
+     */
+    record Scenario(
+            String path,
+            int rate,
+            @DefaultValue Backend backend,
+            @DefaultValue Slo slo
+    ) {
+    }
+
+    /**
+     * @param p50          50 번째 백분위 응답 시간 상한
+     * @param p99          99 번째 백분위 응답 시간 상한
+     * @param p999         99.9 번째 백분위 응답 시간 상한
+     * @param maxErrorRate 2xx 가 아닌 응답과 요청 실패 비율 상한
+     */
+    record Slo(
+            @DefaultValue("100ms") Duration p50,
+            @DefaultValue("500ms") Duration p99,
+            @DefaultValue("1s") Duration p999,
+            @DefaultValue("0.01") double maxErrorRate
+    ) {
+    }
+}
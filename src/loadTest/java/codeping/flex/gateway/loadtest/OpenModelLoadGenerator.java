@@ -0,0 +1,109 @@
+package codeping.flex.gateway.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * 응답을 기다리지 않고 정해진 간격으로 요청을 보내는 개방형(open model) 부하 생성기입니다.
+ * 응답 시간은 실제 전송 시각이 아니라 전송 예정 시각부터 재므로, 게이트웨이가 밀려도 지연이 측정값에서 빠지지 않습니다.
+ */
+final class OpenModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final List<String> accessTokens;
+
+    OpenModelLoadGenerator(HttpClient httpClient, String baseUrl, List<String> accessTokens) {
+        this(httpClient, baseUrl, accessTokens, Map.of());
+    }
+
+    /**
+     * @param headers 모든 요청에 함께 보낼 헤더
+     */
+    OpenModelLoadGenerator(HttpClient httpClient, String baseUrl, List<String> accessTokens, Map<String, String> headers) {
+        this.httpClient = httpClient.headers(requestHeaders -> headers.forEach(requestHeaders::set));
+        this.baseUrl = baseUrl;
+        this.accessTokens = accessTokens;
+    }
+
+    /**
+     * 예열 후 측정 시간 동안 초당 rate 개의 요청을 보내고, 보낸 요청이 모두 끝나면 결과를 반환합니다.
+     */
+    RouteResult run(String routeId, LoadTestProperties.Scenario scenario, Duration warmup, Duration duration) {
+        drive(scenario, warmup, new Recording());
+        Recording recording = new Recording();
+        drive(scenario, duration, recording);
+        // 제한 시간 안에 끝나지 않은 요청은 실패로 셉니다.
+        recording.errors.addAndGet(recording.awaitOutstanding());
+        return new RouteResult(routeId, recording.latencies, recording.sent.get(), recording.errors.get(), duration);
+    }
+
+    private void drive(LoadTestProperties.Scenario scenario, Duration duration, Recording recording) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.rate();
+        long startedAt = System.nanoTime();
+        long endsAt = startedAt + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduledAt = startedAt + i * intervalNanos;
+            if (scheduledAt >= endsAt) {
+                return;
+            }
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(scenario.path(), accessTokens.get((int) (i % accessTokens.size())), scheduledAt, recording);
+        }
+    }
+
+    private void send(String path, String accessToken, long scheduledAt, Recording recording) {
+        recording.sent.incrementAndGet();
+        recording.outstanding.incrementAndGet();
+        httpClient.headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .get()
+                .uri(baseUrl + path)
+                .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                .subscribe(
+                        status -> {
+                            recording.latencies.recordValue(Math.min(System.nanoTime() - scheduledAt, HIGHEST_TRACKABLE_NANOS));
+                            if (status < 200 || status >= 300) {
+                                recording.errors.incrementAndGet();
+                            }
+                            recording.outstanding.decrementAndGet();
+                        },
+                        error -> {
+                            recording.errors.incrementAndGet();
+                            recording.outstanding.decrementAndGet();
+                        });
+    }
+
+    private static final class Recording {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong outstanding = new AtomicLong();
+
+        /**
+         * @return 제한 시간이 지나도 끝나지 않은 요청 수
+         */
+        private long awaitOutstanding() {
+            long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+            while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            return outstanding.get();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package codeping.flex.gateway.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 라우트 하나의 측정 결과입니다. 응답 시간은 요청을 보내기로 예정된 시각부터 잽니다.
+ */
+record RouteResult(
+        String routeId,
+        Histogram latencies,
+        long sent,
+        long errors,
+        Duration duration
+) {
+
+    long completed() {
+        return latencies.getTotalCount();
+    }
+
+    double throughput() {
+        return completed() * 1_000_000_000.0 / duration.toNanos();
+    }
+
+    double errorRate() {
+        return sent == 0 ? 0 : (double) errors / sent;
+    }
+
+    Duration percentile(double percentile) {
+        return Duration.ofNanos(latencies.getValueAtPercentile(percentile));
+    }
+
+    /**
+     * @return SLO 를 넘은 항목 설명, 모두 지켰으면 빈 목록
+     */
+    List<String> violations(LoadTestProperties.Slo slo, int targetRate) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "p50", percentile(50), slo.p50());
+        check(violations, "p99", percentile(99), slo.p99());
+        check(violations, "p99.9", percentile(99.9), slo.p999());
+        if (errorRate() > slo.maxErrorRate()) {
+            violations.add(String.format("%s error rate %.4f > %.4f", routeId, errorRate(), slo.maxErrorRate()));
+        }
+        if (throughput() < targetRate * 0.95) {
+            violations.add(String.format("%s throughput %.1f/s < 95%% of %d/s", routeId, throughput(), targetRate));
+        }
+        return violations;
+    }
+
+    String summary() {
+        return String.format("%-16s %8d %10.1f/s %8d %8.4f %10.2fms %10.2fms %10.2fms %10.2fms",
+                routeId, sent, throughput(), errors, errorRate(),
+                millis(percentile(50)), millis(percentile(99)), millis(percentile(99.9)), millis(Duration.ofNanos(latencies.getMaxValue())));
+    }
+
+    static String header() {
+        return String.format("%-16s %8s %12s %8s %8s %12s %12s %12s %12s",
+                "route", "sent", "throughput", "errors", "err%", "p50", "p99", "p99.9", "max");
+    }
+
+    private void check(List<String> violations, String name, Duration actual, Duration limit) {
+        if (actual.compareTo(limit) > 0) {
+            violations.add(String.format("%s %s %.2fms > %.2fms", routeId, name, millis(actual), millis(limit)));
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,55 @@
+package codeping.flex.gateway.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 모든 요청에 고정된 JSON 을 설정된 지연 시간 뒤에 응답하고, 설정된 비율만큼 500 을 응답하는 로컬 스텁 서비스입니다.
+ */
+final class StubService {
+
+    private final DisposableServer server;
+    private final AtomicLong requests = new AtomicLong();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double errorRate;
+
+    private StubService(String body) {
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> {
+                    requests.incrementAndGet();
+                    Duration delay = latency;
+                    if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                        return response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR)
+                                .sendString(Mono.delay(delay).thenReturn("{\"stub\":\"error\"}"));
+                    }
+                    return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                            .sendString(Mono.delay(delay).thenReturn(body));
+                })
+                .bindNow();
+    }
+
+    static StubService start(String body) {
+        return new StubService(body);
+    }
+
+    void configure(Duration latency, double errorRate) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+}
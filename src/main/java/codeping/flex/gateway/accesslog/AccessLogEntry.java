@@ -0,0 +1,24 @@
+package codeping.flex.gateway.accesslog;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * 요청 하나의 접근 로그입니다. 요청 스레드에서는 값만 모으고,
+ * 가리기와 문자열 변환은 writer 스레드에서 합니다.
+ *
+ * @param headerValues {@link AccessLogProperties#headers()} 와 같은 순서의 헤더 값 (없으면 null)
+ */
+public record AccessLogEntry(
+        long timestampMillis,
+        String method,
+        String path,
+        String query,
+        int status,
+        long durationNanos,
+        String routeId,
+        Object userId,
+        InetSocketAddress remoteAddress,
+        List<String> headerValues
+) {
+}
@@ -0,0 +1,56 @@
+package codeping.flex.gateway.accesslog;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * @param enabled             접근 로그 사용 여부
+ * @param bufferSize          기록 대기 중인 로그를 담는 링 버퍼 크기 (2의 거듭제곱으로 올림), 가득 차면 버려지고 카운터로 셈
+ * @param drainInterval       백그라운드 writer 가 버퍼를 비우는 주기
+ * @param sampling            응답 상태 코드 종류별 기록 비율
+ * @param headers             함께 남길 요청 헤더 (Authorization, Cookie, x-pp- 헤더 값은 가려짐)
+ * @param redactedQueryParams 값을 가릴 쿼리 파라미터 이름
+ */
+@ConfigurationProperties(prefix = "access-log")
+public record AccessLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("200ms") Duration drainInterval,
+        @DefaultValue Sampling sampling,
+        @DefaultValue({"user-agent", "x-forwarded-for"}) List<String> headers,
+        @DefaultValue({"token", "access_token", "refresh_token", "code"}) List<String> redactedQueryParams
+) {
+
+    /**
+     * 각 값은 0~1 사이의 기록 비율입니다. (1 이면 모두 기록, 0 이면 기록하지 않음)
+     *
+     * @param success     2xx
+     * @param redirection 1xx, 3xx
+     * @param clientError 4xx
+     * @param serverError 5xx, 처리 중 오류
+     */
+    public record Sampling(
+            @DefaultValue("0.1") double success,
+            @DefaultValue("0.1") double redirection,
+            @DefaultValue("1.0") double clientError,
+            @DefaultValue("1.0") double serverError
+    ) {
+
+        public double rateOf(int status) {
+            HttpStatusCode statusCode = HttpStatusCode.valueOf(status);
+            if (statusCode.is2xxSuccessful()) {
+                return success;
+            }
+            if (statusCode.is4xxClientError()) {
+                return clientError;
+            }
+            if (statusCode.is5xxServerError()) {
+                return serverError;
+            }
+            return redirection;
+        }
+    }
+}
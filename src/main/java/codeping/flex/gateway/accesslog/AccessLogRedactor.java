@@ -0,0 +1,81 @@
+package codeping.flex.gateway.accesslog;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * 접근 로그에 토큰과 Passport 값이 남지 않도록 가립니다.
+ */
+public class AccessLogRedactor {
+
+    public static final String REDACTED = "[REDACTED]";
+
+    private static final String PASSPORT_HEADER_PREFIX = "x-pp-";
+    private static final Set<String> SECRET_HEADERS = Set.of(
+            HttpHeaders.AUTHORIZATION.toLowerCase(Locale.ROOT),
+            HttpHeaders.COOKIE.toLowerCase(Locale.ROOT),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(Locale.ROOT)
+    );
+
+    private final Set<String> redactedQueryParams;
+
+    public AccessLogRedactor(Collection<String> redactedQueryParams) {
+        this.redactedQueryParams = redactedQueryParams.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @param name  소문자 헤더 이름
+     * @param value 헤더 값
+     */
+    public String header(String name, String value) {
+        if (value == null) {
+            return null;
+        }
+        return SECRET_HEADERS.contains(name) || name.startsWith(PASSPORT_HEADER_PREFIX) ? REDACTED : value;
+    }
+
+    /**
+     * 설정한 이름의 파라미터와 JWT 처럼 보이는 값을 가립니다.
+     *
+     * @param query 디코딩하지 않은 쿼리 문자열, 없으면 null
+     */
+    public String query(String query) {
+        if (query == null || query.isEmpty()) {
+            return query;
+        }
+        StringBuilder redacted = new StringBuilder(query.length());
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            String param = query.substring(start, end);
+            int equals = param.indexOf('=');
+            if (equals >= 0 && isSecretParam(param.substring(0, equals), param.substring(equals + 1))) {
+                redacted.append(param, 0, equals + 1).append(REDACTED);
+            } else {
+                redacted.append(param);
+            }
+            if (end < query.length()) {
+                redacted.append('&');
+            }
+            start = end + 1;
+        }
+        return redacted.toString();
+    }
+
+    private boolean isSecretParam(String name, String value) {
+        return redactedQueryParams.contains(name.toLowerCase(Locale.ROOT)) || looksLikeJwt(value);
+    }
+
+    private static boolean looksLikeJwt(String value) {
+        int firstDot = value.indexOf('.');
+        return value.startsWith("eyJ") && firstDot > 0 && value.indexOf('.', firstDot + 1) > firstDot;
+    }
+}
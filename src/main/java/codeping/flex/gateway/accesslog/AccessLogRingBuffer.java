@@ -0,0 +1,63 @@
+package codeping.flex.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 여러 이벤트 루프 스레드가 넣고 writer 스레드 하나만 꺼내는 고정 크기 링 버퍼입니다.
+ * 넣을 때는 생산자 인덱스를 CAS 로 차지한 뒤 슬롯에 쓰고, 락을 잡거나 기다리지 않습니다.
+ * 가득 차면 바로 false 를 돌려주므로 요청 처리가 로그 기록 속도에 묶이지 않습니다.
+ */
+public class AccessLogRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return 버퍼가 가득 차 넣지 못했으면 false
+     */
+    public boolean offer(E element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() > mask) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        slots.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * writer 스레드 하나에서만 호출합니다.
+     *
+     * @return 꺼낸 원소, 비었거나 다음 슬롯이 아직 채워지는 중이면 null
+     */
+    public E poll() {
+        long index = consumerIndex.get();
+        int slot = (int) index & mask;
+        E element = slots.get(slot);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(slot, null);
+        consumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    public int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
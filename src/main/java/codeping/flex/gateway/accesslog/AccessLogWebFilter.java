@@ -0,0 +1,96 @@
+package codeping.flex.gateway.accesslog;
+
+import codeping.flex.gateway.security.filter.AccessTokenFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 요청마다 한 줄의 접근 로그를 남깁니다.
+ * 게이트웨이 라우트가 없는 요청(합친 API 문서, actuator 등)도 포함하도록 WebFilter 중 가장 먼저 실행하고,
+ * 응답 상태 코드 종류별 비율로 샘플링한 요청만 값을 모아 {@link AccessLogWriter} 의 버퍼에 넣습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessLogWebFilter implements WebFilter, Ordered {
+
+    /**
+     * 클라이언트가 응답을 받기 전에 연결을 끊은 요청의 상태 코드 (nginx 관례)
+     */
+    static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private final AccessLogProperties properties;
+    private final AccessLogWriter accessLogWriter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.enabled()) {
+            return chain.filter(exchange);
+        }
+        long startedAtMillis = System.currentTimeMillis();
+        long startedAt = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, signal, startedAtMillis, System.nanoTime() - startedAt));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long startedAtMillis, long durationNanos) {
+        int status = statusOf(exchange, signal);
+        double rate = properties.sampling().rateOf(status);
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        accessLogWriter.offer(new AccessLogEntry(
+                startedAtMillis,
+                request.getMethod().name(),
+                request.getPath().value(),
+                request.getURI().getRawQuery(),
+                status,
+                durationNanos,
+                route == null ? null : route.getId(),
+                exchange.getAttribute(AccessTokenFilter.VERIFIED_USER_ID_ATTR),
+                request.getRemoteAddress(),
+                headerValues(request.getHeaders())
+        ));
+    }
+
+    private List<String> headerValues(HttpHeaders headers) {
+        List<String> headerNames = accessLogWriter.headerNames();
+        List<String> values = new ArrayList<>(headerNames.size());
+        for (String headerName : headerNames) {
+            values.add(headers.getFirst(headerName));
+        }
+        return values;
+    }
+
+    private static int statusOf(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return CLIENT_CLOSED_REQUEST;
+        }
+        if (signal == SignalType.ON_ERROR) {
+            return 500;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status == null ? 200 : status.value();
+    }
+}
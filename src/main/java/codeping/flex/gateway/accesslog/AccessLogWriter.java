@@ -0,0 +1,161 @@
+package codeping.flex.gateway.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 요청 스레드가 링 버퍼에 넣은 접근 로그를 백그라운드에서 꺼내 한 줄짜리 JSON 으로 ACCESS_LOG 로거에 씁니다.
+ * 버퍼가 가득 차면 요청을 기다리게 하지 않고 로그를 버린 뒤 gateway.access-log.dropped 로 셉니다.
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    public static final String LOGGER_NAME = "ACCESS_LOG";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final AccessLogProperties properties;
+    private final AccessLogRingBuffer<AccessLogEntry> buffer;
+    private final AccessLogRedactor redactor;
+    private final List<String> headerNames;
+    private final Counter dropped;
+    private final Counter written;
+    private Disposable drainer;
+
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffer = new AccessLogRingBuffer<>(properties.bufferSize());
+        this.redactor = new AccessLogRedactor(properties.redactedQueryParams());
+        this.headerNames = properties.headers().stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .toList();
+        this.dropped = Counter.builder("gateway.access-log.dropped")
+                .description("버퍼가 가득 차 기록하지 못한 접근 로그 수")
+                .register(meterRegistry);
+        this.written = Counter.builder("gateway.access-log.written")
+                .description("기록한 접근 로그 수")
+                .register(meterRegistry);
+        Gauge.builder("gateway.access-log.pending", buffer, AccessLogRingBuffer::size)
+                .description("기록을 기다리는 접근 로그 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.enabled()) {
+            drainer = Flux.interval(properties.drainInterval(), Schedulers.boundedElastic())
+                    .subscribe(tick -> drain());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (drainer != null) {
+            drainer.dispose();
+        }
+        drain();
+    }
+
+    /**
+     * @return 기록할 헤더 이름 (소문자, 설정 순서)
+     */
+    public List<String> headerNames() {
+        return headerNames;
+    }
+
+    /**
+     * 요청 스레드에서 호출합니다. 버퍼가 가득 차면 기다리지 않고 버립니다.
+     */
+    public void offer(AccessLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    void drain() {
+        AccessLogEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            try {
+                ACCESS_LOG.info(format(entry));
+                written.increment();
+            } catch (RuntimeException e) {
+                log.warn("Failed to write access log: {}", e.getMessage());
+            }
+        }
+    }
+
+    String format(AccessLogEntry entry) {
+        StringBuilder line = new StringBuilder(256).append('{');
+        appendField(line, "time", Instant.ofEpochMilli(entry.timestampMillis()).toString()).append(',');
+        appendField(line, "method", entry.method()).append(',');
+        appendField(line, "path", entry.path()).append(',');
+        if (entry.query() != null) {
+            appendField(line, "query", redactor.query(entry.query())).append(',');
+        }
+        line.append("\"status\":").append(entry.status()).append(',');
+        line.append("\"durationMicros\":").append(entry.durationNanos() / 1_000).append(',');
+        if (entry.routeId() != null) {
+            appendField(line, "route", entry.routeId()).append(',');
+        }
+        if (entry.userId() != null) {
+            appendField(line, "user", String.valueOf(entry.userId())).append(',');
+        }
+        InetSocketAddress remoteAddress = entry.remoteAddress();
+        if (remoteAddress != null) {
+            appendField(line, "client", remoteAddress.getAddress() == null
+                    ? remoteAddress.getHostString()
+                    : remoteAddress.getAddress().getHostAddress()).append(',');
+        }
+        line.append("\"headers\":{");
+        boolean first = true;
+        for (int i = 0; i < headerNames.size(); i++) {
+            String value = redactor.header(headerNames.get(i), entry.headerValues().get(i));
+            if (value == null) {
+                continue;
+            }
+            if (!first) {
+                line.append(',');
+            }
+            appendField(line, headerNames.get(i), value);
+            first = false;
+        }
+        return line.append("}}").toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder line, String name, String value) {
+        line.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        return line.append('"');
+    }
+}
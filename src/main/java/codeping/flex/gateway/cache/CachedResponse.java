@@ -0,0 +1,32 @@
+package codeping.flex.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * 캐시된 응답입니다. 본문은 힙의 byte 배열로 보관하며 응답할 때 복사 없이 감싸서 씁니다.
+ * @param headers           캐시할 수 있는 응답 헤더
+ * @param body              응답 본문
+ * @param storedAtMillis    저장 시각
+ * @param freshUntilMillis  그대로 재사용할 수 있는 시각
+ * @param retainUntilMillis 갱신 중 이전 응답으로 사용할 수 있는 시각
+ */
+record CachedResponse(
+        HttpHeaders headers,
+        byte[] body,
+        long storedAtMillis,
+        long freshUntilMillis,
+        long retainUntilMillis
+) {
+
+    boolean isFresh(long nowMillis) {
+        return nowMillis < freshUntilMillis;
+    }
+
+    long ageSeconds(long nowMillis) {
+        return Math.max(0, (nowMillis - storedAtMillis) / 1000);
+    }
+
+    int weight() {
+        return body.length + headers.size() * 64;
+    }
+}
@@ -0,0 +1,320 @@
+package codeping.flex.gateway.cache;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * response-cache.routes 에 설정된 라우트의 익명 GET 응답을 게이트웨이에서 캐시합니다.
+ * <ul>
+ *     <li>ttl 동안은 업스트림 호출 없이 캐시된 응답을 씁니다. (X-Cache: HIT)</li>
+ *     <li>ttl 이 지나도 stale-while-revalidate 동안은 이전 응답을 쓰고, 백그라운드에서 한 번만 갱신합니다. (X-Cache: STALE)</li>
+ *     <li>캐시에 없는 같은 요청이 동시에 들어오면 하나만 업스트림으로 보내고 나머지는 그 응답을 공유합니다. (X-Cache: MISS / HIT)</li>
+ * </ul>
+ * 캐시 키에 요청 헤더가 들어가지 않으므로 Vary 나 Content-Encoding 이 있는 응답은 캐시하지 않습니다.
+ * 본문은 힙의 byte 배열로 보관되며 전체 크기는 response-cache.max-memory 로 제한됩니다.
+ * 라우트별 결과는 gateway.response-cache.requests, 적중률은 gateway.response-cache.hit.ratio 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final String HIT = "HIT";
+    private static final String STALE = "STALE";
+    private static final String MISS = "MISS";
+    private static final String REQUEST_METRIC = "gateway.response-cache.requests";
+    private static final Duration REVALIDATION_TIMEOUT = Duration.ofSeconds(5);
+    private static final Set<String> UNCACHEABLE_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "date", "age", "set-cookie"
+    );
+
+    private final Map<String, ResponseCacheProperties.Route> routes;
+    private final long maxEntryBytes;
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Map<String, RouteMetrics> routeMetrics = new ConcurrentHashMap<>();
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        this.routes = Map.copyOf(properties.routes());
+        this.maxEntryBytes = properties.maxEntrySize().toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxMemory().toBytes())
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfter(new RetentionExpiry())
+                .build();
+        this.webClient = webClientBuilder.clone().build();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.response-cache.memory", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("캐시된 응답이 사용 중인 메모리 (bytes)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        if (route == null || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        ResponseCacheProperties.Route policy = routes.get(route.getId());
+        if (policy == null || !policy.paths().contains(request.getURI().getRawPath())) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(route, request);
+        RouteMetrics metrics = metricsOf(route.getId());
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.isFresh(System.currentTimeMillis())) {
+                metrics.hits.increment();
+                return writeCached(exchange, cached, HIT);
+            }
+            metrics.stales.increment();
+            revalidate(key, route, request, policy);
+            return writeCached(exchange, cached, STALE);
+        }
+        return fetchShared(key, policy, metrics, exchange, chain);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /**
+     * 같은 키로 진행 중인 업스트림 요청이 있으면 그 응답을 공유하고, 없으면 업스트림 응답을 클라이언트에 쓰면서 캐시합니다.
+     * 공유할 응답이 캐시되지 않으면(에러, 200 이 아닌 응답 등) 대기하던 요청은 각자 업스트림으로 보냅니다.
+     */
+    private Mono<Void> fetchShared(String key, ResponseCacheProperties.Route policy, RouteMetrics metrics,
+                                   ServerWebExchange exchange, GatewayFilterChain chain) {
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            metrics.collapsed.increment();
+            return leader.asMono()
+                    .flatMap(response -> writeCached(exchange, response, HIT))
+                    .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+        }
+
+        metrics.misses.increment();
+        exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, MISS);
+        ServerHttpResponse caching = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!HttpStatus.OK.equals(getStatusCode()) || !isCacheable(getHeaders())) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body).flatMap(joined -> {
+                    CachedResponse response = toCachedResponse(getHeaders(), joined, policy);
+                    if (response != null) {
+                        cache.put(key, response);
+                        sink.tryEmitValue(response);
+                    }
+                    return super.writeWith(Mono.just(joined));
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(caching).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * stale 응답을 쓰는 동안 로드밸런서를 거쳐 업스트림에서 응답을 다시 받아 캐시를 갱신합니다. 키마다 한 번에 하나만 실행됩니다.
+     */
+    private void revalidate(String key, Route route, ServerHttpRequest request, ResponseCacheProperties.Route policy) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        URI uri = UriComponentsBuilder.fromUri(route.getUri())
+                .scheme("http")
+                .replacePath(request.getURI().getRawPath())
+                .replaceQuery(request.getURI().getRawQuery())
+                .build(true)
+                .toUri();
+        webClient.get()
+                .uri(uri)
+                .exchangeToMono(response -> {
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    if (!HttpStatus.OK.equals(response.statusCode()) || !isCacheable(headers)) {
+                        return response.releaseBody().then(Mono.<CachedResponse>empty());
+                    }
+                    return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()))
+                            .mapNotNull(joined -> {
+                                try {
+                                    return toCachedResponse(headers, joined, policy);
+                                } finally {
+                                    DataBufferUtils.release(joined);
+                                }
+                            });
+                })
+                .timeout(REVALIDATION_TIMEOUT)
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(
+                        response -> cache.put(key, response),
+                        error -> log.warn("Failed to revalidate cached response {}: {}", key, error.getMessage()));
+    }
+
+    /**
+     * @return 응답이 업스트림 호출 없이 캐시에서 나갔는지 여부
+     */
+    public static boolean isServedFromCache(HttpHeaders responseHeaders) {
+        String cacheStatus = responseHeaders.getFirst(CACHE_STATUS_HEADER);
+        return HIT.equals(cacheStatus) || STALE.equals(cacheStatus);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        response.setStatusCode(HttpStatus.OK);
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setContentLength(cached.body().length);
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(System.currentTimeMillis())));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private CachedResponse toCachedResponse(HttpHeaders responseHeaders, DataBuffer body, ResponseCacheProperties.Route policy) {
+        int length = body.readableByteCount();
+        if (length > maxEntryBytes) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.toByteBuffer(body.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+
+        HttpHeaders headers = new HttpHeaders();
+        responseHeaders.forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (!UNCACHEABLE_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")
+                    && !CACHE_STATUS_HEADER.equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+
+        long now = System.currentTimeMillis();
+        long freshUntil = now + policy.ttl().toMillis();
+        return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), bytes, now, freshUntil,
+                freshUntil + policy.staleWhileRevalidate().toMillis());
+    }
+
+    private boolean isCacheable(HttpHeaders headers) {
+        // 키가 요청 헤더를 구분하지 않으므로, 압축되었거나 요청 헤더에 따라 달라지는 응답을 다른 클라이언트에 줄 수 있습니다.
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.containsKey(HttpHeaders.VARY)
+                || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains(CacheControl.noStore().getHeaderValue())
+                || cacheControl.contains("private"));
+    }
+
+    private String cacheKey(Route route, ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return route.getId() + ' ' + request.getURI().getRawPath() + (query == null ? "" : '?' + query);
+    }
+
+    private RouteMetrics metricsOf(String routeId) {
+        return routeMetrics.computeIfAbsent(routeId, id -> new RouteMetrics(id, meterRegistry));
+    }
+
+    private static final class RouteMetrics {
+
+        private final Counter hits;
+        private final Counter stales;
+        private final Counter collapsed;
+        private final Counter misses;
+
+        private RouteMetrics(String routeId, MeterRegistry meterRegistry) {
+            this.hits = counter(routeId, "hit", meterRegistry);
+            this.stales = counter(routeId, "stale", meterRegistry);
+            this.collapsed = counter(routeId, "collapsed", meterRegistry);
+            this.misses = counter(routeId, "miss", meterRegistry);
+            Gauge.builder("gateway.response-cache.hit.ratio", this, RouteMetrics::hitRatio)
+                    .tag("route", routeId)
+                    .description("업스트림 호출 없이 응답한 요청 비율")
+                    .register(meterRegistry);
+        }
+
+        private static Counter counter(String routeId, String result, MeterRegistry meterRegistry) {
+            return Counter.builder(REQUEST_METRIC)
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .description("응답 캐시 조회 결과별 요청 수")
+                    .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            double served = hits.count() + stales.count() + collapsed.count();
+            double total = served + misses.count();
+            return total == 0 ? 0 : served / total;
+        }
+    }
+
+    private static final class RetentionExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            long remainingMillis = value.retainUntilMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
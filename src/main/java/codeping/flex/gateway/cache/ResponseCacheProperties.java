@@ -0,0 +1,33 @@
+package codeping.flex.gateway.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param maxMemory    캐시된 응답 본문이 사용할 수 있는 최대 메모리 (힙)
+ * @param maxEntrySize 캐시할 응답 본문의 최대 크기, 더 큰 응답은 캐시하지 않음
+ * @param routes       gateway.yml 라우트 id 별 캐시 설정
+ */
+@ConfigurationProperties(prefix = "response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("32MB") DataSize maxMemory,
+        @DefaultValue("512KB") DataSize maxEntrySize,
+        @DefaultValue Map<String, Route> routes
+) {
+
+    /**
+     * @param ttl                  응답을 그대로 재사용하는 시간
+     * @param staleWhileRevalidate ttl 이 지난 뒤 백그라운드에서 갱신하는 동안 이전 응답을 계속 사용하는 시간
+     * @param paths                캐시할 GET 요청 경로 목록 (정확히 일치)
+     */
+    public record Route(
+            @DefaultValue("10s") Duration ttl,
+            @DefaultValue("30s") Duration staleWhileRevalidate,
+            @DefaultValue List<String> paths
+    ) {
+    }
+}
@@ -0,0 +1,158 @@
+package codeping.flex.gateway.concurrency;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import codeping.flex.gateway.cache.ResponseCacheFilter;
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
+import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import codeping.flex.gateway.metrics.ExchangeTimings;
+import codeping.flex.gateway.metrics.UpstreamTimingFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 라우트마다 응답 시간에 맞춰 조정되는 동시 요청 한도(bulkhead)를 적용합니다.
+ * 한 서비스가 느려져도 그 라우트의 요청만 한도에서 막히므로 다른 라우트가 쓸 커넥션과 메모리가 남습니다.
+ * 게이트웨이 전체에도 고정 한도를 두고, 두 한도 모두 우선순위별로 쓸 수 있는 몫을 나눠
+ * 낮은 우선순위 라우트 → 일반 요청 순으로 먼저 차단하고 인증, 랜딩 요청은 마지막까지 받습니다.
+ * 차단된 요청은 업스트림에 닿지 않고 미리 직렬화된 503 으로 바로 응답합니다.
+ * 처리 중인 요청 수는 클라이언트에 응답을 다 쓸 때까지 세지만, 한도 조정에 쓰는 응답 시간은
+ * {@link UpstreamTimingFilter} 가 업스트림 응답을 받은 시각까지만 재므로 느린 클라이언트가 한도를 줄이지 않습니다.
+ */
+@Component
+public class AdaptiveConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 인증에 실패한 요청은 한도를 쓰지 않도록 AccessTokenFilter 바로 다음에 실행합니다.
+     */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimitProperties properties;
+    private final PathMatcher pathMatcher;
+    private final MeterRegistry meterRegistry;
+    private final List<String> highPaths;
+    private final Set<String> lowRoutes;
+    private final Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+    private final Map<String, GradientConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private final AtomicInteger globalInflight = new AtomicInteger();
+    private final ErrorResponseBodies errorResponseBodies;
+
+    public AdaptiveConcurrencyLimitFilter(ConcurrencyLimitProperties properties, PathMatcher pathMatcher,
+                                          ErrorResponseBodies errorResponseBodies, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pathMatcher = pathMatcher;
+        this.errorResponseBodies = errorResponseBodies;
+        this.meterRegistry = meterRegistry;
+        this.highPaths = List.copyOf(properties.priorities().highPaths());
+        this.lowRoutes = Set.copyOf(properties.priorities().lowRoutes());
+        this.shares.put(RequestPriority.HIGH, 1.0);
+        this.shares.put(RequestPriority.NORMAL, properties.priorities().normalShare());
+        this.shares.put(RequestPriority.LOW, properties.priorities().lowShare());
+        Gauge.builder("gateway.concurrency.global.inflight", globalInflight, AtomicInteger::get)
+                .description("게이트웨이 전체에서 처리 중인 요청 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.enabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        RequestPriority priority = priorityOf(routeId, exchange.getRequest().getPath().value());
+        double share = shares.get(priority);
+        if (!tryAcquireGlobal(share)) {
+            return shed(exchange, routeId, priority);
+        }
+        GradientConcurrencyLimit limit = limits.computeIfAbsent(routeId, this::createLimit);
+        if (!limit.tryAcquire(share)) {
+            globalInflight.decrementAndGet();
+            return shed(exchange, routeId, priority);
+        }
+
+        long startedAt = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    globalInflight.decrementAndGet();
+                    HttpHeaders responseHeaders = exchange.getResponse().getHeaders();
+                    long upstreamCompletedAt = ExchangeTimings.upstreamCompletedAt(exchange);
+                    // 업스트림까지 가지 않은 요청(캐시 적중, 라우팅 전 실패 등)은 응답 시간 표본으로 쓰지 않습니다.
+                    if (signal == SignalType.CANCEL || !ExchangeTimings.isSet(upstreamCompletedAt) || ResponseCacheFilter.isServedFromCache(responseHeaders)) {
+                        limit.onIgnore();
+                        return;
+                    }
+                    limit.onComplete(upstreamCompletedAt - startedAt, signal == SignalType.ON_ERROR || isOverloaded(exchange.getResponse().getStatusCode()));
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private RequestPriority priorityOf(String routeId, String path) {
+        for (String highPath : highPaths) {
+            if (pathMatcher.match(highPath, path)) {
+                return RequestPriority.HIGH;
+            }
+        }
+        return lowRoutes.contains(routeId) ? RequestPriority.LOW : RequestPriority.NORMAL;
+    }
+
+    private boolean tryAcquireGlobal(double share) {
+        int admissionLimit = (int) (properties.globalLimit() * share);
+        while (true) {
+            int current = globalInflight.get();
+            if (current >= admissionLimit) {
+                return false;
+            }
+            if (globalInflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private GradientConcurrencyLimit createLimit(String routeId) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(properties);
+        Gauge.builder("gateway.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+                .description("라우트별 동시 요청 한도")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limit, GradientConcurrencyLimit::inflight)
+                .description("라우트별 처리 중인 요청 수")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private Mono<Void> shed(ServerWebExchange exchange, String routeId, RequestPriority priority) {
+        meterRegistry.counter("gateway.concurrency.shed", "route", routeId, "priority", priority.name()).increment();
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return errorResponseBodies.write(exchange.getResponse(), GatewayErrorCode.ROUTE_OVERLOADED);
+    }
+
+    private static boolean isOverloaded(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+}
@@ -0,0 +1,46 @@
+package codeping.flex.gateway.concurrency;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled      라우트별 동시 요청 제한 사용 여부
+ * @param initialLimit 라우트별 시작 동시 요청 한도
+ * @param minLimit     한도의 하한
+ * @param maxLimit     한도의 상한
+ * @param rttTolerance 장기 평균 대비 이 배수까지 늘어난 응답 시간은 정상으로 보고 한도를 줄이지 않음
+ * @param smoothing    새로 계산한 한도를 반영하는 비율 (0~1)
+ * @param longWindow   장기 평균 응답 시간에 반영되는 샘플 수
+ * @param backoffRatio 업스트림 실패(오류, 502/503/504) 시 한도에 곱할 비율
+ * @param globalLimit  게이트웨이 전체 동시 요청 한도 (고정)
+ * @param priorities   우선순위별 요청 분류와 한도 몫
+ */
+@ConfigurationProperties(prefix = "concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("500") int maxLimit,
+        @DefaultValue("2.0") double rttTolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("600") int longWindow,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("2000") int globalLimit,
+        @DefaultValue Priorities priorities
+) {
+
+    /**
+     * @param highPaths   한도를 모두 쓸 수 있는 요청 경로 패턴 (인증, 랜딩 등)
+     * @param lowRoutes   가장 먼저 차단할 라우트 id 목록
+     * @param normalShare 일반 요청이 쓸 수 있는 한도의 비율
+     * @param lowShare    낮은 우선순위 라우트 요청이 쓸 수 있는 한도의 비율
+     */
+    public record Priorities(
+            @DefaultValue List<String> highPaths,
+            @DefaultValue List<String> lowRoutes,
+            @DefaultValue("0.9") double normalShare,
+            @DefaultValue("0.5") double lowShare
+    ) {
+    }
+}
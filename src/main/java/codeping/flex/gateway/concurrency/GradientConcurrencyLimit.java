@@ -0,0 +1,117 @@
+package codeping.flex.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 시간 변화(gradient)로 동시 요청 한도를 조정하는 라우트별 리미터입니다.
+ * 장기 평균 응답 시간 대비 방금 응답 시간이 rttTolerance 배 이상 늘면 그 비율만큼 한도를 줄이고,
+ * 그렇지 않으면 sqrt(한도) 만큼의 여유를 더해 천천히 늘립니다. 업스트림 실패 시에는 backoffRatio 만큼 바로 줄입니다.
+ * 요청 허용은 CAS 로만 처리하고, 한도 재계산만 동기화합니다.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final int WARMUP_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final double backoffRatio;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+    private volatile boolean rejectedSinceUpdate;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long samples;
+
+    public GradientConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.rttTolerance = properties.rttTolerance();
+        this.smoothing = properties.smoothing();
+        this.longWindow = properties.longWindow();
+        this.backoffRatio = properties.backoffRatio();
+        this.estimatedLimit = properties.initialLimit();
+        this.limit = properties.initialLimit();
+    }
+
+    /**
+     * @param share 이 요청이 쓸 수 있는 한도의 비율
+     * @return 처리 중인 요청이 한도 x share 보다 적어 요청을 허용했는지 여부
+     */
+    public boolean tryAcquire(double share) {
+        int admissionLimit = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= admissionLimit) {
+                rejectedSinceUpdate = true;
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 허용된 요청이 끝났을 때 응답 시간을 반영합니다.
+     * @param dropped 업스트림이 과부하 신호(오류, 502/503/504)를 보냈는지 여부
+     */
+    public void onComplete(long rttNanos, boolean dropped) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        update(Math.max(1, rttNanos), inflightAtCompletion, dropped);
+    }
+
+    /**
+     * 업스트림 상태와 무관하게 끝난 요청(클라이언트 취소, 캐시 응답)은 한도 계산에 반영하지 않습니다.
+     */
+    public void onIgnore() {
+        inflight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inflightAtCompletion, boolean dropped) {
+        boolean demandExceededLimit = rejectedSinceUpdate;
+        rejectedSinceUpdate = false;
+
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+            limit = (int) estimatedLimit;
+            return;
+        }
+
+        samples++;
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / Math.min(samples, longWindow);
+        }
+        // 느려졌다가 회복되면 장기 평균이 높게 남아 한도가 너무 빨리 늘어나지 않도록 평균을 당겨 내립니다.
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (samples < WARMUP_SAMPLES) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        // 한도의 절반도 쓰지 않고 거절도 없었다면 수요가 적은 것이므로 한도를 늘리지 않습니다.
+        if (gradient >= 1.0 && inflightAtCompletion * 2 < estimatedLimit && !demandExceededLimit) {
+            return;
+        }
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,10 @@
+package codeping.flex.gateway.concurrency;
+
+/**
+ * 한도에 가까워졌을 때 어떤 요청부터 차단할지 정하는 요청 우선순위입니다.
+ */
+public enum RequestPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
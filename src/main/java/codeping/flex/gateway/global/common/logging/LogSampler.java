@@ -0,0 +1,33 @@
+package codeping.flex.gateway.global.common.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 자주 반복되는 로그를 interval 마다 한 번만 남기도록 거르고, 그 사이 발생 횟수를 함께 알려줍니다.
+ */
+public class LogSampler {
+
+    private final long intervalNanos;
+    private final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+    private final LongAdder occurrences = new LongAdder();
+
+    public LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * 발생을 기록하고 이번에 로그를 남길지 정합니다.
+     * @return 로그를 남길 차례면 지난 로그 이후 발생 횟수(이번 포함), 아니면 0
+     */
+    public long sample() {
+        occurrences.increment();
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+        if (now - next < 0 || !nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            return 0;
+        }
+        return occurrences.sumThenReset();
+    }
+}
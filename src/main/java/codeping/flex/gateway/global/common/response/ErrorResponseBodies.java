@@ -0,0 +1,75 @@
+package codeping.flex.gateway.global.common.response;
+
+import codeping.flex.gateway.global.common.response.code.BaseErrorCode;
+import codeping.flex.gateway.global.common.response.code.CommonErrorCode;
+import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 에러 코드별 실패 응답 본문을 시작할 때 한 번만 직렬화해 두고, 요청마다 복사 없이 버퍼로 감싸 씁니다.
+ * 인증 실패나 차단 응답이 몰려도 요청마다 ObjectMapper 를 거치지 않습니다.
+ * 직렬화된 배열은 밖으로 내보내지 않으므로 여러 요청이 같은 배열을 공유해도 안전합니다.
+ */
+@Component
+public class ErrorResponseBodies {
+
+    private final ObjectMapper objectMapper;
+    private final Map<BaseErrorCode, byte[]> bodies = new ConcurrentHashMap<>();
+
+    public ErrorResponseBodies(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        Stream.concat(Arrays.stream(GatewayErrorCode.values()), Arrays.stream(CommonErrorCode.values()))
+                .forEach(errorCode -> bodies.put(errorCode, render(errorCode)));
+    }
+
+    /**
+     * 에러 코드의 상태 코드로 실패 응답을 씁니다.
+     */
+    public Mono<Void> write(ServerHttpResponse response, BaseErrorCode errorCode) {
+        return write(response, errorCode.getHttpStatus(), errorCode);
+    }
+
+    /**
+     * 지정한 상태 코드로 실패 응답을 씁니다.
+     */
+    public Mono<Void> write(ServerHttpResponse response, HttpStatusCode status, BaseErrorCode errorCode) {
+        byte[] body = bodyBytes(errorCode);
+        HttpHeaders headers = response.getHeaders();
+        response.setStatusCode(status);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * @return 미리 직렬화된 본문을 감싼 버퍼 (복사 없음)
+     */
+    public DataBuffer bodyOf(DataBufferFactory bufferFactory, BaseErrorCode errorCode) {
+        return bufferFactory.wrap(bodyBytes(errorCode));
+    }
+
+    private byte[] bodyBytes(BaseErrorCode errorCode) {
+        return bodies.computeIfAbsent(errorCode, this::render);
+    }
+
+    private byte[] render(BaseErrorCode errorCode) {
+        try {
+            return objectMapper.writeValueAsBytes(ApplicationResponse.onFailure(errorCode.getCustomCode(), errorCode.getMessage(), null));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize error response for " + errorCode.getCustomCode(), e);
+        }
+    }
+}
@@ -11,6 +11,9 @@ public enum GatewayErrorCode implements BaseErrorCode{
     JWT_EXPIRED(HttpStatus.BAD_REQUEST, "JWT_003", "만료된 토큰입니다."),
     INVALID_JWT(HttpStatus.BAD_REQUEST, "JWT_005", "유효하지 않은 토큰입니다."),
     EMPTY_TOKEN(HttpStatus.BAD_REQUEST, "JWT_006","accees token이 비어있습니다."),
+    REVOKED_JWT(HttpStatus.BAD_REQUEST, "JWT_007", "폐기된 토큰입니다."),
+    PASSPORT_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "PASSPORT_001", "Passport 를 발급할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    ROUTE_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "GATEWAY_001", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
 
     ;
 
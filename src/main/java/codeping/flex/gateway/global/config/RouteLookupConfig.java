@@ -0,0 +1,29 @@
+package codeping.flex.gateway.global.config;
+
+import codeping.flex.gateway.route.IndexedRoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 기본 RoutePredicateHandlerMapping 을 Path 패턴 트라이로 후보 라우트를 찾는 구현으로 바꿉니다.
+ * 주입되는 RouteLocator, RouteDefinitionLocator 는 모든 라우트를 모은 @Primary 빈(캐시, composite)입니다.
+ */
+@Configuration
+public class RouteLookupConfig {
+
+    @Bean
+    public RoutePredicateHandlerMapping routePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                                                     RouteLocator routeLocator,
+                                                                     RouteDefinitionLocator routeDefinitionLocator,
+                                                                     GlobalCorsProperties globalCorsProperties,
+                                                                     Environment environment) {
+        return new IndexedRoutePredicateHandlerMapping(webHandler, routeLocator, routeDefinitionLocator,
+                globalCorsProperties, environment);
+    }
+}
@@ -0,0 +1,51 @@
+package codeping.flex.gateway.global.config;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+import codeping.flex.gateway.stream.StockStreamHandler;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+/**
+ * 시세 스트림 엔드포인트는 gateway 라우트보다 먼저 매칭되도록 RouterFunction / HandlerMapping 으로 등록합니다.
+ * gateway 라우트에만 적용되는 globalcors 설정을 이 엔드포인트에도 적용합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class StockStreamConfig implements WebFluxConfigurer {
+
+    public static final String SSE_PATH = "/api/kis/stocks/stream";
+    public static final String WEB_SOCKET_PATH = "/api/kis/stocks/ws";
+
+    private final GlobalCorsProperties globalCorsProperties;
+
+    @Bean
+    public RouterFunction<ServerResponse> stockStreamRoutes(StockStreamHandler stockStreamHandler) {
+        return RouterFunctions.route(GET(SSE_PATH), stockStreamHandler::stream);
+    }
+
+    @Bean
+    public HandlerMapping stockStreamWebSocketMapping(StockStreamHandler stockStreamHandler) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of(WEB_SOCKET_PATH, stockStreamHandler), Ordered.HIGHEST_PRECEDENCE);
+        // 직접 만든 HandlerMapping 에는 addCorsMappings 가 적용되지 않으므로 globalcors 설정을 따로 넣습니다.
+        mapping.setCorsConfigurations(globalCorsProperties.getCorsConfigurations());
+        return mapping;
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        globalCorsProperties.getCorsConfigurations()
+                .forEach((pattern, corsConfiguration) -> registry.addMapping(pattern).combine(corsConfiguration));
+    }
+}
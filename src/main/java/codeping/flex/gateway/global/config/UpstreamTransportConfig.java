@@ -0,0 +1,35 @@
+package codeping.flex.gateway.global.config;
+
+import codeping.flex.gateway.transport.PooledNettyRoutingFilter;
+import codeping.flex.gateway.transport.UpstreamHttpClients;
+import codeping.flex.gateway.transport.UpstreamTransportProperties;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpResources;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * 업스트림 호출에 쓰는 전송 계층(epoll)과 라우트별 커넥션 풀을 설정합니다.
+ * 공용 풀 크기와 유휴, 수명 제한은 spring.cloud.gateway.httpclient.pool 로 설정합니다.
+ */
+@Configuration
+public class UpstreamTransportConfig {
+
+    @Bean
+    public HttpClientCustomizer nativeTransportCustomizer(UpstreamTransportProperties properties) {
+        return httpClient -> httpClient.runOn(HttpResources.get(), properties.nativeTransport());
+    }
+
+    @Bean
+    public PooledNettyRoutingFilter pooledNettyRoutingFilter(HttpClient httpClient,
+                                                             ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                             HttpClientProperties properties,
+                                                             UpstreamHttpClients upstreamHttpClients) {
+        return new PooledNettyRoutingFilter(httpClient, headersFilters, properties, upstreamHttpClients);
+    }
+}
@@ -0,0 +1,26 @@
+package codeping.flex.gateway.global.config;
+
+import codeping.flex.gateway.warmup.GatewayWarmup;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 워밍업 요청만 내부 루프백 스텁으로 보내는 라우트입니다.
+ * gateway.yml 라우트보다 먼저 평가되지만, 워밍업 중이 아니거나 헤더 값이 다르면 매칭되지 않습니다.
+ */
+@Configuration
+public class WarmupRouteConfig {
+
+    @Bean
+    public RouteLocator warmupRouteLocator(RouteLocatorBuilder builder, GatewayWarmup gatewayWarmup) {
+        return builder.routes()
+                .route(GatewayWarmup.ROUTE_ID, route -> route
+                        .order(Ordered.HIGHEST_PRECEDENCE)
+                        .predicate(gatewayWarmup::accepts)
+                        .uri(gatewayWarmup.stubUri()))
+                .build();
+    }
+}
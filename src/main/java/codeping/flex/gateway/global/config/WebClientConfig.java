@@ -43,9 +43,12 @@ public class WebClientConfig {
         return WebClient.builder()
                 .clientConnector(connector)
                 .filter((request, next) -> {
-                    ClientRequest filtered = ClientRequest.from(request)
-                            .header(HttpHeaders.AUTHORIZATION, request.headers().getFirst(HttpHeaders.AUTHORIZATION))
-                            .build();
+                    String authorization = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+                    ClientRequest filtered = authorization == null
+                            ? request
+                            : ClientRequest.from(request)
+                                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                                    .build();
                     return next.exchange(filtered)
                             .doOnError(error -> log.error("Error during WebClient request: ", error));
                 });
@@ -0,0 +1,82 @@
+package codeping.flex.gateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서비스 인스턴스별 peak-EWMA 지연 시간과 처리 중인 요청 수를 기록합니다.
+ * 지연 시간이 EWMA 보다 크면 바로 반영하고(peak), 작으면 decayTime 에 따라 천천히 반영합니다.
+ * 요청이 없는 동안에도 EWMA 가 줄어들어, 느렸던 인스턴스도 시간이 지나면 다시 선택될 수 있습니다.
+ */
+@Component
+public class InstanceLatencyStats {
+
+    private static final Duration IDLE_EXPIRATION = Duration.ofMinutes(10);
+    private static final double UNMEASURED_PENALTY = Double.MAX_VALUE / 2;
+
+    private final Cache<String, Stats> stats = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_EXPIRATION)
+            .build();
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+
+    public InstanceLatencyStats(PeakEwmaProperties properties) {
+        this.decayNanos = properties.decayTime().toNanos();
+        this.failurePenaltyNanos = properties.failurePenalty().toNanos();
+    }
+
+    public void onStart(ServiceInstance instance) {
+        statsOf(instance).outstanding.incrementAndGet();
+    }
+
+    public void onComplete(ServiceInstance instance, long latencyNanos, boolean failed) {
+        Stats instanceStats = statsOf(instance);
+        instanceStats.outstanding.updateAndGet(outstanding -> Math.max(0, outstanding - 1));
+        instanceStats.observe(failed ? Math.max(latencyNanos, failurePenaltyNanos) : latencyNanos, System.nanoTime(), decayNanos);
+    }
+
+    /**
+     * 인스턴스 선택 비용을 계산합니다. 낮을수록 먼저 선택됩니다.
+     * 아직 측정된 지연 시간이 없는데 처리 중인 요청이 있는 인스턴스는 첫 응답이 올 때까지 요청이 몰리지 않도록 가장 뒤로 미룹니다.
+     * @return 현재 EWMA 지연 시간 x (처리 중인 요청 수 + 1)
+     */
+    public double cost(ServiceInstance instance) {
+        Stats instanceStats = statsOf(instance);
+        double ewma = instanceStats.ewma(System.nanoTime(), decayNanos);
+        int outstanding = instanceStats.outstanding.get();
+        if (ewma == 0 && outstanding > 0) {
+            return UNMEASURED_PENALTY + outstanding;
+        }
+        return ewma * (outstanding + 1);
+    }
+
+    private Stats statsOf(ServiceInstance instance) {
+        return stats.get(instance.getServiceId() + '/' + instance.getHost() + ':' + instance.getPort(), key -> new Stats());
+    }
+
+    private static final class Stats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private double ewma;
+        private long updatedAt = System.nanoTime();
+
+        synchronized void observe(long latencyNanos, long now, long decayNanos) {
+            double current = ewma(now, decayNanos);
+            if (latencyNanos > current) {
+                ewma = latencyNanos;
+            } else {
+                double weight = Math.exp(-(double) (now - updatedAt) / decayNanos);
+                ewma = current * weight + latencyNanos * (1 - weight);
+            }
+            updatedAt = now;
+        }
+
+        synchronized double ewma(long now, long decayNanos) {
+            return ewma * Math.exp(-(double) Math.max(0, now - updatedAt) / decayNanos);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package codeping.flex.gateway.loadbalancer;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * 로드밸런서가 선택한 인스턴스로 보낸 요청의 응답 시간(응답 헤더 수신까지)과 처리 중인 요청 수를 기록합니다.
+ * 취소된 요청도 처리 중인 요청 수에서 빠지도록 doFinally 에서 기록합니다.
+ * 빠르게 실패하는 인스턴스로 요청이 몰리지 않도록 에러와 5xx 응답은 실패로 기록해 failurePenalty 를 적용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PeakEwmaLatencyFilter implements GlobalFilter, Ordered {
+
+    private final InstanceLatencyStats instanceLatencyStats;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> response = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (response == null || !response.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        ServiceInstance instance = response.getServer();
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            instanceLatencyStats.onStart(instance);
+            return chain.filter(exchange)
+                    .doFinally(signal -> instanceLatencyStats.onComplete(instance, System.nanoTime() - startedAt,
+                            signal == SignalType.ON_ERROR || isServerError(exchange)));
+        });
+    }
+
+    private boolean isServerError(ServerWebExchange exchange) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && status.is5xxServerError();
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
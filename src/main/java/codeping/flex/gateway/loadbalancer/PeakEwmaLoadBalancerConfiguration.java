@@ -0,0 +1,44 @@
+package codeping.flex.gateway.loadbalancer;
+
+import java.net.URI;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * 서비스별 로드밸런서 자식 컨텍스트에 적용되는 설정입니다.
+ * loadbalancer.peak-ewma.routes 에 나열된 라우트의 lb:// 서비스는 peak-EWMA, 그 외는 기본 라운드 로빈을 사용합니다.
+ * 컴포넌트 스캔으로 등록되면 모든 서비스에 같은 빈이 공유되므로 @Configuration 을 붙이지 않습니다.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
+                                                                                   LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                                   GatewayProperties gatewayProperties,
+                                                                                   PeakEwmaProperties peakEwmaProperties,
+                                                                                   InstanceLatencyStats instanceLatencyStats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> supplierProvider = loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        if (usesPeakEwma(serviceId, gatewayProperties, peakEwmaProperties)) {
+            return new PeakEwmaLoadBalancer(supplierProvider, serviceId, instanceLatencyStats);
+        }
+        return new RoundRobinLoadBalancer(supplierProvider, serviceId);
+    }
+
+    private boolean usesPeakEwma(String serviceId, GatewayProperties gatewayProperties, PeakEwmaProperties peakEwmaProperties) {
+        return gatewayProperties.getRoutes().stream()
+                .filter(route -> peakEwmaProperties.routes().contains(route.getId()))
+                .map(RouteDefinition::getUri)
+                .filter(uri -> "lb".equals(uri.getScheme()))
+                .map(URI::getHost)
+                .anyMatch(serviceId::equalsIgnoreCase);
+    }
+}
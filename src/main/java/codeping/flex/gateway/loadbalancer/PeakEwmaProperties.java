@@ -0,0 +1,19 @@
+package codeping.flex.gateway.loadbalancer;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param routes         peak-EWMA 로드밸런싱을 사용할 gateway.yml 라우트 id 목록 (나머지는 라운드 로빈)
+ * @param decayTime      지연 시간 EWMA 가 새 측정값과 유휴 시간에 따라 줄어드는 시간 상수
+ * @param failurePenalty 실패한 요청에 대해 기록할 최소 지연 시간
+ */
+@ConfigurationProperties(prefix = "loadbalancer.peak-ewma")
+public record PeakEwmaProperties(
+        @DefaultValue List<String> routes,
+        @DefaultValue("10s") Duration decayTime,
+        @DefaultValue("1s") Duration failurePenalty
+) {
+}
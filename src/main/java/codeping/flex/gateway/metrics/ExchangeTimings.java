@@ -0,0 +1,53 @@
+package codeping.flex.gateway.metrics;
+
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * 요청 하나의 구간 경계 시각(System.nanoTime)을 담아 필터끼리 나눠 쓰는 exchange 속성입니다.
+ * 요청마다 한 번만 만들고 필드만 바꾸므로, 시각을 넘길 때마다 Long 을 박싱하거나 속성을 새로 넣지 않습니다.
+ * 한 요청의 신호는 Reactor 가 순서대로 전달하므로 필드는 volatile 로 두지 않습니다.
+ */
+public final class ExchangeTimings {
+
+    public static final String ATTR = ExchangeTimings.class.getName();
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private long upstreamStartedAt = UNSET;
+    private long upstreamCompletedAt = UNSET;
+
+    private ExchangeTimings() {
+    }
+
+    /**
+     * @return 요청의 구간 시각, 없으면 새로 만들어 exchange 에 넣은 것
+     */
+    public static ExchangeTimings of(ServerWebExchange exchange) {
+        Object timings = exchange.getAttributes().computeIfAbsent(ATTR, key -> new ExchangeTimings());
+        return (ExchangeTimings) timings;
+    }
+
+    /**
+     * @return 업스트림 응답을 받은 시각, 업스트림까지 가지 않은 요청이면 {@link #isSet(long)} 이 false 인 값
+     */
+    public static long upstreamCompletedAt(ServerWebExchange exchange) {
+        ExchangeTimings timings = exchange.getAttribute(ATTR);
+        return timings == null ? UNSET : timings.upstreamCompletedAt;
+    }
+
+    public static boolean isSet(long timestamp) {
+        return timestamp != UNSET;
+    }
+
+    public void upstreamStarted(long now) {
+        upstreamStartedAt = now;
+    }
+
+    /**
+     * @return 업스트림 호출에 걸린 시간
+     */
+    public long upstreamCompleted(long now) {
+        upstreamCompletedAt = now;
+        return now - upstreamStartedAt;
+    }
+}
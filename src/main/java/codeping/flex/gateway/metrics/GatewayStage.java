@@ -0,0 +1,25 @@
+package codeping.flex.gateway.metrics;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게이트웨이가 요청 하나를 처리하는 구간입니다.
+ * 구간마다 값의 범위가 달라 히스토그램 버킷 범위를 따로 둡니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum GatewayStage {
+
+    TOKEN_EXTRACTION("token_extraction", Duration.ofNanos(500), Duration.ofMillis(10)),
+    TOKEN_VERIFICATION("token_verification", Duration.ofMicros(5), Duration.ofMillis(100)),
+    PASSPORT_FETCH("passport_fetch", Duration.ofMicros(5), Duration.ofSeconds(5)),
+    UPSTREAM("upstream", Duration.ofMillis(1), Duration.ofSeconds(30)),
+    RESPONSE_WRITE("response_write", Duration.ofMicros(50), Duration.ofSeconds(30)),
+    TOTAL("total", Duration.ofMillis(1), Duration.ofSeconds(30));
+
+    private final String tag;
+    private final Duration minimumExpected;
+    private final Duration maximumExpected;
+}
@@ -0,0 +1,88 @@
+package codeping.flex.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 라우트와 구간, 결과별 처리 시간을 gateway.stage.duration 히스토그램으로 기록합니다.
+ * 타이머는 라우트별 배열에 한 번만 등록해 두므로, 워밍업 이후 기록할 때는 태그나 id 객체를 만들지 않습니다.
+ * Prometheus 에는 버킷 히스토그램으로, /actuator/slowroutes 에는 최근 p50, p99 로 노출됩니다.
+ * <p>
+ * 요청마다 남는 할당은 구간을 감싸는 연산자(doFinally, doOnSuccess/doOnError)와 그 구독자, 구간 값을 담은 람다,
+ * 요청당 하나의 {@link ExchangeTimings} 입니다. 양은 StageTimingBenchmark 의 gc 프로파일(gc.alloc.rate.norm)로 확인합니다.
+ */
+@Component
+public class GatewayStageTimers {
+
+    public static final String METRIC_NAME = "gateway.stage.duration";
+    static final String UNKNOWN_ROUTE = "unknown";
+
+    private static final GatewayStage[] STAGES = GatewayStage.values();
+    private static final StageResult[] RESULTS = StageResult.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicReferenceArray<Timer>> timersByRoute = new ConcurrentHashMap<>();
+
+    public GatewayStageTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String routeId, GatewayStage stage, StageResult result, long elapsedNanos) {
+        String route = routeId == null ? UNKNOWN_ROUTE : routeId;
+        AtomicReferenceArray<Timer> timers = timersByRoute.get(route);
+        if (timers == null) {
+            timers = timersByRoute.computeIfAbsent(route, key -> new AtomicReferenceArray<>(STAGES.length * RESULTS.length));
+        }
+        int index = stage.ordinal() * RESULTS.length + result.ordinal();
+        Timer timer = timers.get(index);
+        if (timer == null) {
+            // 같은 id 로 등록하면 레지스트리가 기존 타이머를 돌려주므로 동시에 등록해도 하나만 남습니다.
+            timer = register(route, stage, result);
+            timers.set(index, timer);
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 호출 시점부터 값이나 에러가 나올 때까지를 기록합니다. 취소된 구독은 기록하지 않습니다.
+     * 구독마다 Mono.defer 를 거치지 않도록 시작 시각을 조립할 때 잡으므로, 만든 Mono 는 바로 구독해야 합니다.
+     */
+    public <T> Mono<T> time(Mono<T> source, String routeId, GatewayStage stage) {
+        long startedAt = System.nanoTime();
+        return source
+                .doOnSuccess(value -> record(routeId, stage, StageResult.SUCCESS, System.nanoTime() - startedAt))
+                .doOnError(error -> record(routeId, stage, StageResult.of(error), System.nanoTime() - startedAt));
+    }
+
+    Set<String> routes() {
+        return timersByRoute.keySet();
+    }
+
+    /**
+     * @return 기록된 적 있는 타이머, 없으면 null
+     */
+    Timer find(String routeId, GatewayStage stage, StageResult result) {
+        AtomicReferenceArray<Timer> timers = timersByRoute.get(routeId);
+        return timers == null ? null : timers.get(stage.ordinal() * RESULTS.length + result.ordinal());
+    }
+
+    private Timer register(String routeId, GatewayStage stage, StageResult result) {
+        return Timer.builder(METRIC_NAME)
+                .description("라우트별 게이트웨이 처리 구간 소요 시간")
+                .tag("route", routeId)
+                .tag("stage", stage.getTag())
+                .tag("result", result.getTag())
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(stage.getMinimumExpected())
+                .maximumExpectedValue(stage.getMaximumExpected())
+                .register(meterRegistry);
+    }
+}
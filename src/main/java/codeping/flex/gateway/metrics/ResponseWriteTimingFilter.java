@@ -0,0 +1,48 @@
+package codeping.flex.gateway.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * NettyWriteResponseFilter 바깥에서 업스트림 응답을 받은 뒤 클라이언트에 본문을 다 쓰기까지의 시간을 기록합니다.
+ * 업스트림까지 가지 않은 요청(캐시 적중, rate limit 거절 등)은 기록하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseWriteTimingFilter implements GlobalFilter, Ordered {
+
+    /**
+     * ResponseCacheFilter(WRITE_RESPONSE_FILTER_ORDER - 1) 보다 바깥에서 실행해 캐시에 담는 시간까지 응답 쓰기로 봅니다.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    private final GatewayStageTimers gatewayStageTimers;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    long upstreamCompletedAt = ExchangeTimings.upstreamCompletedAt(exchange);
+                    if (!ExchangeTimings.isSet(upstreamCompletedAt) || signal == SignalType.CANCEL) {
+                        return;
+                    }
+                    StageResult result = signal == SignalType.ON_ERROR
+                            ? StageResult.FAILURE
+                            : StageResult.of(exchange.getResponse().getStatusCode());
+                    gatewayStageTimers.record(UpstreamTimingFilter.routeId(exchange), GatewayStage.RESPONSE_WRITE, result,
+                            System.nanoTime() - upstreamCompletedAt);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
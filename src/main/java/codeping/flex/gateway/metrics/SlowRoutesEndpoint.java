@@ -0,0 +1,101 @@
+package codeping.flex.gateway.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/slowroutes 로 최근 전체 처리 시간 p99 가 가장 긴 라우트와 구간별 p99 를 보여줍니다.
+ * p99 는 결과(result)별 타이머 중 가장 큰 값이며, 최근 몇 분의 기록만 반영됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "slowroutes")
+public class SlowRoutesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+
+    private final GatewayStageTimers gatewayStageTimers;
+
+    @ReadOperation
+    public Map<String, Object> slowRoutes(@Nullable Integer limit) {
+        List<RouteLatency> slowest = gatewayStageTimers.routes().stream()
+                .map(this::latencyOf)
+                .filter(route -> route.count() > 0)
+                .sorted(Comparator.comparingDouble(RouteLatency::p99Millis).reversed())
+                .limit(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit)
+                .toList();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("metric", GatewayStageTimers.METRIC_NAME);
+        body.put("routes", slowest.stream().map(RouteLatency::toMap).toList());
+        return body;
+    }
+
+    private RouteLatency latencyOf(String routeId) {
+        Map<String, Double> stageP99Millis = new LinkedHashMap<>();
+        for (GatewayStage stage : GatewayStage.values()) {
+            if (stage == GatewayStage.TOTAL) {
+                continue;
+            }
+            double p99 = worstPercentile(routeId, stage, P99);
+            if (p99 > 0) {
+                stageP99Millis.put(stage.getTag(), p99);
+            }
+        }
+
+        long count = 0;
+        Map<String, Long> countByResult = new LinkedHashMap<>();
+        for (StageResult result : StageResult.values()) {
+            Timer timer = gatewayStageTimers.find(routeId, GatewayStage.TOTAL, result);
+            if (timer != null && timer.count() > 0) {
+                countByResult.put(result.getTag(), timer.count());
+                count += timer.count();
+            }
+        }
+        return new RouteLatency(routeId, count, countByResult, worstPercentile(routeId, GatewayStage.TOTAL, P50),
+                worstPercentile(routeId, GatewayStage.TOTAL, P99), stageP99Millis);
+    }
+
+    private double worstPercentile(String routeId, GatewayStage stage, double percentile) {
+        double worst = 0;
+        for (StageResult result : StageResult.values()) {
+            Timer timer = gatewayStageTimers.find(routeId, stage, result);
+            if (timer == null) {
+                continue;
+            }
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile) {
+                    worst = Math.max(worst, value.value(TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+        return worst;
+    }
+
+    private record RouteLatency(String routeId, long count, Map<String, Long> countByResult,
+                                double p50Millis, double p99Millis, Map<String, Double> stageP99Millis) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> route = new LinkedHashMap<>();
+            route.put("route", routeId);
+            route.put("count", count);
+            route.put("countByResult", countByResult);
+            route.put("p50Millis", p50Millis);
+            route.put("p99Millis", p99Millis);
+            route.put("stageP99Millis", stageP99Millis);
+            return route;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package codeping.flex.gateway.metrics;
+
+import codeping.flex.gateway.global.common.exception.ApplicationException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * 구간 타이머의 result 태그 값입니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StageResult {
+
+    SUCCESS("success"),
+    CLIENT_ERROR("client_error"),
+    SERVER_ERROR("server_error"),
+    FAILURE("failure");
+
+    private final String tag;
+
+    /**
+     * @param status 응답 상태 코드, 아직 정해지지 않았으면 null
+     */
+    public static StageResult of(HttpStatusCode status) {
+        if (status == null || status.is2xxSuccessful() || status.is3xxRedirection()) {
+            return SUCCESS;
+        }
+        return status.is4xxClientError() ? CLIENT_ERROR : SERVER_ERROR;
+    }
+
+    /**
+     * 에러 코드가 있는 예외는 상태 코드로, 그 밖의 예외는 FAILURE 로 분류합니다.
+     */
+    public static StageResult of(Throwable error) {
+        if (error instanceof ApplicationException applicationException) {
+            return of(applicationException.getCode().getHttpStatus());
+        }
+        return FAILURE;
+    }
+}
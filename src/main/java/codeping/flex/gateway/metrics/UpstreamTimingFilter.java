@@ -0,0 +1,63 @@
+package codeping.flex.gateway.metrics;
+
+import java.net.URI;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * NettyRoutingFilter 바로 앞에서 업스트림 호출 시간(연결, 요청 전송, 응답 헤더 수신)을 기록합니다.
+ * 응답 본문 전송은 이후 NettyWriteResponseFilter 가 하므로 {@link ResponseWriteTimingFilter} 가 따로 기록합니다.
+ * 웹소켓처럼 http 가 아닌 라우트는 세션 시간이 섞이지 않도록 기록하지 않습니다.
+ * 업스트림 응답을 받은 시각은 {@link ExchangeTimings} 에 남겨 다른 필터가 이어서 씁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 2;
+
+    private final GatewayStageTimers gatewayStageTimers;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (requestUrl == null || !isHttp(requestUrl.getScheme())) {
+            return chain.filter(exchange);
+        }
+        ExchangeTimings timings = ExchangeTimings.of(exchange);
+        timings.upstreamStarted(System.nanoTime());
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        return;
+                    }
+                    long elapsed = timings.upstreamCompleted(System.nanoTime());
+                    StageResult result = signal == SignalType.ON_ERROR
+                            ? StageResult.FAILURE
+                            : StageResult.of(exchange.getResponse().getStatusCode());
+                    gatewayStageTimers.record(routeId(exchange), GatewayStage.UPSTREAM, result, elapsed);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route == null ? null : route.getId();
+    }
+
+    private static boolean isHttp(String scheme) {
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    }
+}
@@ -0,0 +1,42 @@
+package codeping.flex.gateway.openapi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 원문과 gzip 압축본을 함께 보관하는 API 문서입니다.
+ * 받아올 때 한 번만 압축하고, gzip 을 받지 않는 클라이언트에는 요청마다 압축을 풀지 않고 원문을 보냅니다.
+ * @param json    압축 전 문서
+ * @param gzipped 압축된 문서
+ * @param eTag    압축 전 문서의 SHA-256 으로 만든 강한 ETag
+ */
+public record OpenApiDocument(byte[] json, byte[] gzipped, String eTag) {
+
+    public static OpenApiDocument of(byte[] json) {
+        return new OpenApiDocument(json, gzip(json), '"' + sha256(json) + '"');
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
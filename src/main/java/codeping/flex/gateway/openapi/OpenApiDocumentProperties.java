@@ -0,0 +1,31 @@
+package codeping.flex.gateway.openapi;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param enabled      게이트웨이에서 API 문서를 캐시해 응답할지 여부, false 면 각 서비스로 그대로 전달
+ * @param documents    캐시할 API 문서 목록
+ * @param mergedPath   모든 문서를 합친 문서를 제공할 경로, 비어 있으면 제공하지 않음
+ * @param fetchTimeout 문서 한 개를 받아오는 최대 시간
+ * @param maxSize      받아올 문서 한 개의 최대 크기, 넘는 문서는 캐시하지 않고 서비스로 전달
+ */
+@ConfigurationProperties(prefix = "openapi.aggregation")
+public record OpenApiDocumentProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue List<Document> documents,
+        String mergedPath,
+        @DefaultValue("30s") Duration fetchTimeout,
+        @DefaultValue("16MB") DataSize maxSize
+) {
+
+    /**
+     * @param path      게이트웨이와 서비스에서 같은 문서 경로 (예: /api/user-service/v3/api-docs)
+     * @param serviceId 문서를 제공하는 서비스 id
+     */
+    public record Document(String path, String serviceId) {
+    }
+}
@@ -0,0 +1,166 @@
+package codeping.flex.gateway.openapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.client.discovery.event.HeartbeatMonitor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 각 서비스의 API 문서를 백그라운드에서 받아 gzip 과 ETag 로 보관합니다.
+ * 사용자 요청이 아니라 디스커버리 변경(HeartbeatEvent)으로 갱신하며,
+ * 인스턴스 목록이 바뀐 서비스(새 배포)와 아직 받지 못한 문서만 다시 받습니다.
+ * 받지 못한 문서는 캐시되지 않으므로 기존처럼 서비스로 전달됩니다.
+ */
+@Slf4j
+@Component
+public class OpenApiDocumentStore {
+
+    private static final int FETCH_CONCURRENCY = 4;
+
+    private final OpenApiDocumentProperties properties;
+    private final DiscoveryClient discoveryClient;
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+    private final HeartbeatMonitor heartbeatMonitor = new HeartbeatMonitor();
+    private final Map<String, OpenApiDocument> documents = new ConcurrentHashMap<>();
+    private final Map<String, String> instanceFingerprints = new ConcurrentHashMap<>();
+
+    public OpenApiDocumentStore(OpenApiDocumentProperties properties, DiscoveryClient discoveryClient,
+                                ObjectMapper objectMapper, WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.discoveryClient = discoveryClient;
+        this.objectMapper = objectMapper;
+        // 기본 256KB 제한으로는 큰 문서를 받지 못해 캐시되지 않으므로 maxSize 까지 받도록 늘립니다.
+        this.webClient = webClientBuilder.clone()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(Math.toIntExact(properties.maxSize().toBytes())))
+                .build();
+        Gauge.builder("openapi.documents.cached", documents, Map::size)
+                .description("게이트웨이에 캐시된 API 문서 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param path 요청 경로
+     * @return 캐시된 문서, 없으면 null
+     */
+    public OpenApiDocument get(String path) {
+        return documents.get(path);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @EventListener(HeartbeatEvent.class)
+    public void onHeartbeat(HeartbeatEvent event) {
+        if (heartbeatMonitor.update(event.getValue())) {
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Flux.fromIterable(properties.documents())
+                .filter(this::needsRefresh)
+                .flatMap(this::fetch, FETCH_CONCURRENCY)
+                .count()
+                .filter(refreshed -> refreshed > 0 && StringUtils.hasText(properties.mergedPath()))
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(refreshed -> merge(), error -> log.warn("Failed to refresh API documents", error));
+    }
+
+    private boolean needsRefresh(OpenApiDocumentProperties.Document document) {
+        String fingerprint = fingerprintOf(document.serviceId());
+        return !fingerprint.isEmpty()
+                && (!documents.containsKey(document.path())
+                || !fingerprint.equals(instanceFingerprints.get(document.path())));
+    }
+
+    private Mono<OpenApiDocument> fetch(OpenApiDocumentProperties.Document document) {
+        String fingerprint = fingerprintOf(document.serviceId());
+        return webClient.get()
+                .uri("http://" + document.serviceId() + document.path())
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .timeout(properties.fetchTimeout())
+                .publishOn(Schedulers.boundedElastic())
+                .map(OpenApiDocument::of)
+                .doOnNext(fetched -> {
+                    documents.put(document.path(), fetched);
+                    instanceFingerprints.put(document.path(), fingerprint);
+                    log.info("Cached API document {} from {}", document.path(), document.serviceId());
+                })
+                .onErrorResume(error -> {
+                    log.warn("Failed to fetch API document {} from {}: {}", document.path(), document.serviceId(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 캐시된 문서들의 paths, components, tags 를 하나의 문서로 합칩니다.
+     * 서비스 간 이름이 겹치는 경로나 스키마는 documents 설정 순서상 앞선 서비스의 것을 사용합니다.
+     */
+    private void merge() {
+        ObjectNode merged = objectMapper.createObjectNode();
+        merged.put("openapi", "3.0.1");
+        merged.putObject("info").put("title", "FLEX API").put("version", "merged");
+        ObjectNode paths = merged.putObject("paths");
+        ObjectNode components = merged.putObject("components");
+        ArrayNode tags = merged.putArray("tags");
+
+        for (OpenApiDocumentProperties.Document document : properties.documents()) {
+            OpenApiDocument cached = documents.get(document.path());
+            if (cached == null) {
+                continue;
+            }
+            try {
+                JsonNode root = objectMapper.readTree(cached.json());
+                root.path("paths").fields().forEachRemaining(path -> paths.putIfAbsent(path.getKey(), path.getValue()));
+                root.path("components").fields().forEachRemaining(section -> {
+                    ObjectNode target = components.has(section.getKey())
+                            ? (ObjectNode) components.get(section.getKey())
+                            : components.putObject(section.getKey());
+                    section.getValue().fields().forEachRemaining(component -> target.putIfAbsent(component.getKey(), component.getValue()));
+                });
+                root.path("tags").forEach(tags::add);
+            } catch (IOException e) {
+                log.warn("Skipping unreadable API document {} while merging: {}", document.path(), e.getMessage());
+            }
+        }
+
+        try {
+            documents.put(properties.mergedPath(), OpenApiDocument.of(objectMapper.writeValueAsBytes(merged)));
+        } catch (IOException e) {
+            log.warn("Failed to write merged API document", e);
+        }
+    }
+
+    private String fingerprintOf(String serviceId) {
+        return discoveryClient.getInstances(serviceId).stream()
+                .map(instance -> instance.getHost() + ':' + instance.getPort() + '/' + instance.getInstanceId())
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining(","));
+    }
+}
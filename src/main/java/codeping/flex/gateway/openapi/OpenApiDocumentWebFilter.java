@@ -0,0 +1,78 @@
+package codeping.flex.gateway.openapi;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * 캐시된 API 문서를 서비스로 전달하지 않고 바로 응답합니다.
+ * If-None-Match 가 ETag 와 같으면 304 를, gzip 을 받는 클라이언트에는 압축된 문서를 그대로 보냅니다.
+ * 합친 문서 경로는 gateway 라우트가 없으므로 GlobalFilter 가 아닌 WebFilter 로 처리합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpenApiDocumentWebFilter implements WebFilter, Ordered {
+
+    private static final String GZIP = "gzip";
+
+    private final OpenApiDocumentStore openApiDocumentStore;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        OpenApiDocument document = openApiDocumentStore.get(request.getPath().value());
+        if (document == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(document.eTag());
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (request.getHeaders().getIfNoneMatch().contains(document.eTag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        if (acceptsGzip(request)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            body = document.gzipped();
+        } else {
+            body = document.json();
+        }
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * 바로 응답하는 문서 요청도 접근 로그에 남도록 AccessLogWebFilter 다음에 실행합니다.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private boolean acceptsGzip(ServerHttpRequest request) {
+        return request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING).stream()
+                .anyMatch(value -> value.contains(GZIP));
+    }
+}
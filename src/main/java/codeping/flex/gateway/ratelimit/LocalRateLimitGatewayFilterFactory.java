@@ -0,0 +1,119 @@
+package codeping.flex.gateway.ratelimit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
+import codeping.flex.gateway.global.common.response.code.CommonErrorCode;
+import codeping.flex.gateway.security.filter.AccessTokenFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Redis 없이 게이트웨이 인스턴스 메모리에서 동작하는 토큰 버킷 rate limit 필터입니다.
+ * <pre>
+ * filters:
+ *   - LocalRateLimit=5, 10, USER    # 사용자(익명이면 클라이언트 IP)별 초당 5개, 최대 10개까지 몰아서 허용
+ *   - LocalRateLimit=100, 200, ROUTE # 라우트 전체 초당 100개
+ * </pre>
+ * 거절 응답(429) 본문은 미리 직렬화해 두고 그대로 씁니다.
+ */
+@Component
+public class LocalRateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<LocalRateLimitGatewayFilterFactory.Config> {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // ingress 가 붙인 마지막 X-Forwarded-For 값만 신뢰합니다.
+    private static final XForwardedRemoteAddressResolver REMOTE_ADDRESS_RESOLVER = XForwardedRemoteAddressResolver.maxTrustedIndex(1);
+
+    private final RateLimitBuckets rateLimitBuckets;
+    private final ErrorResponseBodies errorResponseBodies;
+    private final MeterRegistry meterRegistry;
+
+    public LocalRateLimitGatewayFilterFactory(RateLimitBuckets rateLimitBuckets, ErrorResponseBodies errorResponseBodies, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.rateLimitBuckets = rateLimitBuckets;
+        this.errorResponseBodies = errorResponseBodies;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("replenishRate", "burstCapacity", "keyType");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long emissionIntervalNanos = ONE_SECOND_NANOS / config.getReplenishRate();
+        int burstCapacity = config.getBurstCapacity();
+        KeyType keyType = config.getKeyType();
+
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "" : route.getId();
+            long acquired = rateLimitBuckets.tryAcquire(keyType.keyOf(routeId, exchange), emissionIntervalNanos, burstCapacity);
+            if (acquired >= 0) {
+                exchange.getResponse().getHeaders().set(REMAINING_HEADER, Long.toString(acquired));
+                return chain.filter(exchange);
+            }
+            meterRegistry.counter("gateway.rate-limit.rejected", "route", routeId, "key", keyType.name()).increment();
+            return reject(exchange, -acquired);
+        };
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + ONE_SECOND_NANOS - 1))));
+        headers.set(REMAINING_HEADER, "0");
+        return errorResponseBodies.write(exchange.getResponse(), CommonErrorCode.TOO_MANY_REQUESTS);
+    }
+
+    public enum KeyType {
+        /** 검증된 토큰의 사용자 id, 토큰이 없는 요청은 클라이언트 IP */
+        USER {
+            @Override
+            String keyOf(String routeId, ServerWebExchange exchange) {
+                Object userId = exchange.getAttribute(AccessTokenFilter.VERIFIED_USER_ID_ATTR);
+                return userId == null ? IP.keyOf(routeId, exchange) : routeId + ":user:" + userId;
+            }
+        },
+        /** 클라이언트 IP */
+        IP {
+            @Override
+            String keyOf(String routeId, ServerWebExchange exchange) {
+                return routeId + ":ip:" + REMOTE_ADDRESS_RESOLVER.resolve(exchange).getAddress().getHostAddress();
+            }
+        },
+        /** 라우트 전체 */
+        ROUTE {
+            @Override
+            String keyOf(String routeId, ServerWebExchange exchange) {
+                return routeId + ":route";
+            }
+        };
+
+        abstract String keyOf(String routeId, ServerWebExchange exchange);
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        /** 초당 다시 쌓이는 토큰 수 */
+        private int replenishRate = 10;
+        /** 버킷 크기 (순간적으로 허용할 최대 요청 수) */
+        private int burstCapacity = 20;
+        private KeyType keyType = KeyType.USER;
+    }
+}
@@ -0,0 +1,84 @@
+package codeping.flex.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 키별 토큰 버킷을 GCRA(Generic Cell Rate Algorithm)로 구현한 인메모리 저장소입니다.
+ * 버킷 하나는 다음 토큰이 쌓이는 이론적 도착 시각(TAT) 하나를 AtomicLong 으로 갖고 CAS 로만 갱신하므로 락이 없습니다.
+ * 토큰이 가득 찬(TAT 가 지난) 버킷은 새 버킷과 같으므로 주기적으로 제거해도 제한이 느슨해지지 않습니다.
+ */
+@Component
+public class RateLimitBuckets {
+
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private final Map<String, AtomicLong> theoreticalArrivalTimes = new ConcurrentHashMap<>(1024);
+    private Disposable sweepTask;
+
+    public RateLimitBuckets(MeterRegistry meterRegistry) {
+        Gauge.builder("gateway.rate-limit.buckets", theoreticalArrivalTimes, Map::size)
+                .description("메모리에 유지 중인 rate limit 버킷 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        sweepTask = Flux.interval(SWEEP_INTERVAL, SWEEP_INTERVAL, Schedulers.boundedElastic())
+                .subscribe(tick -> evictIdle());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweepTask != null) {
+            sweepTask.dispose();
+        }
+    }
+
+    /**
+     * 키의 버킷에서 토큰 하나를 꺼냅니다.
+     * @param key                   버킷 키
+     * @param emissionIntervalNanos 토큰 하나가 다시 쌓이는 시간
+     * @param burstCapacity         버킷 크기
+     * @return 허용되면 남은 토큰 수(0 이상), 거절되면 다음 토큰까지 기다려야 하는 시간(ns)의 음수
+     */
+    public long tryAcquire(String key, long emissionIntervalNanos, int burstCapacity) {
+        long now = System.nanoTime();
+        AtomicLong theoreticalArrivalTime = theoreticalArrivalTimes.get(key);
+        if (theoreticalArrivalTime == null) {
+            theoreticalArrivalTime = theoreticalArrivalTimes.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long tolerance = emissionIntervalNanos * burstCapacity;
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return -wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return (tolerance - (next - now)) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * 토큰이 가득 찬 버킷을 제거합니다.
+     * 제거와 동시에 토큰을 꺼낸 요청이 있어도 잃는 것은 그 토큰 하나뿐입니다.
+     */
+    void evictIdle() {
+        long now = System.nanoTime();
+        theoreticalArrivalTimes.values().removeIf(theoreticalArrivalTime -> theoreticalArrivalTime.get() <= now);
+    }
+}
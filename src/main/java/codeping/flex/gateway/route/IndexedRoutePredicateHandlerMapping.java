@@ -0,0 +1,91 @@
+package codeping.flex.gateway.route;
+
+import java.util.BitSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 모든 라우트의 predicate 를 차례로 평가하는 대신 {@link RouteIndex} 로 후보 라우트를 한 번에 좁힌 뒤,
+ * 후보만 우선순위 순서로 실제 predicate 로 확인합니다.
+ * 실제 predicate 를 그대로 적용하므로 URI 템플릿 변수 같은 exchange 속성도 기존과 같게 채워집니다.
+ * 라우트가 refresh 될 때마다 인덱스를 다시 만들고, 만들기 전이나 실패했을 때는 기존 순차 평가를 사용합니다.
+ */
+@Slf4j
+public class IndexedRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping
+        implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private final RouteLocator routeLocator;
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private volatile RouteIndex index;
+
+    public IndexedRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                               RouteDefinitionLocator routeDefinitionLocator,
+                                               GlobalCorsProperties globalCorsProperties, Environment environment) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeLocator = routeLocator;
+        this.routeDefinitionLocator = routeDefinitionLocator;
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (event.isSuccess()) {
+            refreshIndex().subscribe();
+        }
+    }
+
+    /**
+     * 현재 라우트와 라우트 정의로 인덱스를 다시 만듭니다.
+     */
+    public Mono<Void> refreshIndex() {
+        return Mono.zip(routeLocator.getRoutes().collectList(), routeDefinitionLocator.getRouteDefinitions().collectList())
+                .map(routesAndDefinitions -> RouteIndex.build(routesAndDefinitions.getT1(), routesAndDefinitions.getT2()))
+                .doOnNext(routeIndex -> {
+                    index = routeIndex;
+                    log.info("Route index rebuilt: {} routes, {} evaluated sequentially",
+                            routeIndex.size(), routeIndex.fallbackSize());
+                })
+                .doOnError(error -> {
+                    index = null;
+                    log.warn("Failed to rebuild route index, falling back to sequential lookup: {}", error.getMessage());
+                })
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        RouteIndex routeIndex = index;
+        if (routeIndex == null) {
+            return super.lookupRoute(exchange);
+        }
+        BitSet candidates = routeIndex.candidates(exchange.getRequest().getPath().pathWithinApplication());
+        if (candidates == null) {
+            return super.lookupRoute(exchange);
+        }
+        return Flux.fromStream(candidates.stream().mapToObj(routeIndex::route))
+                .concatMap(route -> Mono.just(route)
+                        .filterWhen(candidate -> {
+                            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR, candidate.getId());
+                            return candidate.getPredicate().apply(exchange);
+                        })
+                        .doOnError(error -> log.error("Error applying predicate for route: {}", route.getId(), error))
+                        .onErrorResume(error -> Mono.empty()))
+                .next()
+                .map(route -> {
+                    validateRoute(route, exchange);
+                    return route;
+                });
+    }
+}
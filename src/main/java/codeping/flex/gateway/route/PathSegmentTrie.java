@@ -0,0 +1,90 @@
+package codeping.flex.gateway.route;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Path 패턴을 경로 세그먼트 단위 트라이로 모아 요청 경로에 매칭될 수 있는 라우트 번호를 한 번에 찾습니다.
+ * 리터럴 세그먼트는 자식 맵으로, 한 세그먼트 와일드카드({id}, *, 정규식 등)는 와일드카드 자식으로,
+ * ** 와 {*var} 는 나머지 경로 전체를 받는 노드로 저장합니다.
+ * 결과는 실제 매칭 대상의 상위 집합이므로 호출하는 쪽에서 라우트 predicate 로 최종 확인합니다.
+ */
+public class PathSegmentTrie {
+
+    private final Node root = new Node();
+
+    /**
+     * @param pattern    PathPattern 문법의 경로 패턴
+     * @param routeIndex 라우트 우선순위 순서의 번호
+     */
+    public void add(String pattern, int routeIndex) {
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (isCatchAll(segment)) {
+                node.catchAll.set(routeIndex);
+                return;
+            }
+            node = isWildcard(segment)
+                    ? node.wildcard()
+                    : node.literals.computeIfAbsent(segment, key -> new Node());
+        }
+        node.terminal.set(routeIndex);
+    }
+
+    /**
+     * @param segments 요청 경로의 세그먼트 (빈 세그먼트 제외, 디코딩된 값)
+     * @param matches  매칭될 수 있는 라우트 번호를 더할 집합
+     */
+    public void collect(List<String> segments, BitSet matches) {
+        collect(root, segments, 0, matches);
+    }
+
+    private static void collect(Node node, List<String> segments, int depth, BitSet matches) {
+        matches.or(node.catchAll);
+        if (depth == segments.size()) {
+            matches.or(node.terminal);
+            return;
+        }
+        Node literal = node.literals.get(segments.get(depth));
+        if (literal != null) {
+            collect(literal, segments, depth + 1, matches);
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, depth + 1, matches);
+        }
+    }
+
+    private static boolean isCatchAll(String segment) {
+        return segment.equals("**") || segment.startsWith("{*");
+    }
+
+    private static boolean isWildcard(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private final BitSet terminal = new BitSet();
+        private final BitSet catchAll = new BitSet();
+        private Node wildcard;
+
+        private Node wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package codeping.flex.gateway.route;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.http.server.PathContainer;
+
+/**
+ * 라우트 refresh 시점의 라우트 목록으로 만든 조회용 스냅샷입니다.
+ * Path predicate 하나로만 정의된 라우트는 패턴을 {@link PathSegmentTrie} 에 넣고,
+ * 정의를 알 수 없거나(코드로 만든 라우트) 다른 predicate 가 섞인 라우트는 항상 후보에 넣어 기존처럼 평가합니다.
+ * 라우트 번호는 우선순위 순서이므로 후보를 번호 순으로 평가하면 순차 평가와 같은 라우트가 선택됩니다.
+ */
+public class RouteIndex {
+
+    private static final String PATH_PREDICATE = "Path";
+
+    private final List<Route> routes;
+    private final PathSegmentTrie trie = new PathSegmentTrie();
+    private final BitSet fallback = new BitSet();
+
+    private RouteIndex(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * @param routes      우선순위 순서로 정렬된 라우트
+     * @param definitions 라우트를 만든 정의 (라우트 id 로 연결)
+     */
+    public static RouteIndex build(List<Route> routes, Collection<RouteDefinition> definitions) {
+        Map<String, RouteDefinition> definitionsById = definitions.stream()
+                .collect(Collectors.toMap(RouteDefinition::getId, Function.identity(), (first, second) -> first));
+        RouteIndex index = new RouteIndex(List.copyOf(routes));
+        for (int i = 0; i < routes.size(); i++) {
+            List<String> patterns = pathPatterns(definitionsById.get(routes.get(i).getId()));
+            if (patterns == null) {
+                index.fallback.set(i);
+                continue;
+            }
+            for (String pattern : patterns) {
+                index.trie.add(pattern, i);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return 경로가 매칭될 수 있는 라우트 번호, 빈 세그먼트(//)가 있어 트라이로 판단하지 않는 경로는 null
+     */
+    public BitSet candidates(PathContainer path) {
+        List<String> segments = new ArrayList<>();
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                if (segment.valueToMatch().isEmpty()) {
+                    return null;
+                }
+                segments.add(segment.valueToMatch());
+            }
+        }
+        BitSet candidates = (BitSet) fallback.clone();
+        trie.collect(segments, candidates);
+        return candidates;
+    }
+
+    public Route route(int index) {
+        return routes.get(index);
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    public int fallbackSize() {
+        return fallback.cardinality();
+    }
+
+    /**
+     * @return Path predicate 하나로만 정의된 라우트의 패턴, 트라이에 넣을 수 없으면 null
+     */
+    private static List<String> pathPatterns(RouteDefinition definition) {
+        if (definition == null || definition.getPredicates().size() != 1) {
+            return null;
+        }
+        PredicateDefinition predicate = definition.getPredicates().get(0);
+        if (!PATH_PREDICATE.equals(predicate.getName())) {
+            return null;
+        }
+        List<String> patterns = new ArrayList<>();
+        // 축약 문법(_genkey_*), 이름 있는 인자(patterns[0]), 디스커버리 로케이터(pattern) 모두 값이 패턴이므로 키 이름은 보지 않습니다.
+        for (String value : predicate.getArgs().values()) {
+            // 마지막 값은 matchTrailingSlash 플래그일 수 있습니다.
+            if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+                continue;
+            }
+            if (value == null || value.contains("#{")) {
+                return null;
+            }
+            patterns.add(value);
+        }
+        return patterns.isEmpty() ? null : patterns;
+    }
+}
@@ -1,132 +1,148 @@
 package codeping.flex.gateway.security.filter;
 
-import static codeping.flex.gateway.security.filter.WebSecurityUrl.EXCLUDE_TOKEN_VALIDATION;
-import static codeping.flex.gateway.security.filter.WebSecurityUrl.PASSPORT_ENDPOINT;
-import static codeping.flex.gateway.security.jwt.AuthConstants.BEARER;
-import static codeping.flex.gateway.security.jwt.AuthConstants.PASSPORT_HEADER_PREFIX;
-
 import codeping.flex.gateway.global.common.exception.ApplicationException;
-import codeping.flex.gateway.global.common.response.ApplicationResponse;
+import codeping.flex.gateway.global.common.logging.LogSampler;
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
 import codeping.flex.gateway.global.common.response.code.BaseErrorCode;
 import codeping.flex.gateway.global.common.response.code.CommonErrorCode;
 import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import codeping.flex.gateway.metrics.GatewayStage;
+import codeping.flex.gateway.metrics.GatewayStageTimers;
+import codeping.flex.gateway.metrics.StageResult;
+import codeping.flex.gateway.security.jwt.access.AccessTokenClaimKeys;
 import codeping.flex.gateway.security.jwt.access.AccessTokenValidator;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.Arrays;
+import codeping.flex.gateway.security.passport.PassportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.annotation.Order;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.util.PathMatcher;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class AccessTokenFilter implements GlobalFilter {
 
+    /**
+     * 서명과 만료를 검증한 토큰의 사용자 id 를 담는 exchange 속성입니다. (rate limit 키 등에 사용)
+     */
+    public static final String VERIFIED_USER_ID_ATTR = AccessTokenFilter.class.getName() + ".verifiedUserId";
+
+    private static final Duration REJECTION_LOG_INTERVAL = Duration.ofSeconds(10);
+
     private final AccessTokenValidator accessTokenValidator;
-    private final ObjectMapper objectMapper;
-    private final PathMatcher pathMatcher;
-    private final WebClient webClient;
+    private final ErrorResponseBodies errorResponseBodies;
+    private final EndpointSecurityPolicy endpointSecurityPolicy;
+    private final PassportService passportService;
+    private final GatewayStageTimers gatewayStageTimers;
+    private final Map<BaseErrorCode, Counter> expectedRejections;
+    private final LogSampler rejectionLogSampler = new LogSampler(REJECTION_LOG_INTERVAL);
+
+    public AccessTokenFilter(AccessTokenValidator accessTokenValidator, ErrorResponseBodies errorResponseBodies,
+                             EndpointSecurityPolicy endpointSecurityPolicy, PassportService passportService,
+                             GatewayStageTimers gatewayStageTimers, MeterRegistry meterRegistry) {
+        this.accessTokenValidator = accessTokenValidator;
+        this.errorResponseBodies = errorResponseBodies;
+        this.endpointSecurityPolicy = endpointSecurityPolicy;
+        this.passportService = passportService;
+        this.gatewayStageTimers = gatewayStageTimers;
+        this.expectedRejections = Stream.<BaseErrorCode>of(GatewayErrorCode.JWT_EXPIRED, GatewayErrorCode.INVALID_JWT, GatewayErrorCode.EMPTY_TOKEN,
+                        GatewayErrorCode.REVOKED_JWT)
+                .collect(Collectors.toUnmodifiableMap(errorCode -> errorCode, errorCode -> Counter.builder("gateway.auth.rejections")
+                        .description("만료, 위조, 누락, 폐기 토큰으로 거절한 요청 수")
+                        .tag("code", errorCode.getCustomCode())
+                        .register(meterRegistry)));
+    }
 
     /**
      * 모든 HTTP 요청에 대해 실행되는 필터 메서드입니다.
      * 인증이 필요한 엔드포인트를 검증하고 Passport 데이터를 헤더에 추가합니다.
+     * 가장 먼저 실행되는 필터이므로 게이트웨이 전체 처리 시간(total)도 여기서 기록합니다.
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String routeId = routeId(exchange);
+        long startedAt = System.nanoTime();
+        return authenticate(exchange, chain, routeId)
+            .doFinally(signal -> recordTotal(exchange, routeId, signal, startedAt));
+    }
+
+    private Mono<Void> authenticate(ServerWebExchange exchange, GatewayFilterChain chain, String routeId) {
         ServerHttpRequest request = exchange.getRequest();
-        String path = request.getURI().getPath();
+        EndpointSecurity endpointSecurity = endpointSecurityPolicy.match(request.getURI().getPath());
 
         // 인증이 필요하지 않은 경로
-        if (isAnonymousEndpoint(path)) {
+        if (endpointSecurity.isAnonymous()) {
             log.debug("Anonymous endpoint detected, skipping authentication");
             return chain.filter(exchange);
         }
 
         // 토큰 추출 공통 로직
-        Mono<String> extractedTokenMono = Mono.justOrEmpty(accessTokenValidator.extractToken(request))
+        long extractionStartedAt = System.nanoTime();
+        String extractedToken = accessTokenValidator.extractToken(request);
+        gatewayStageTimers.record(routeId, GatewayStage.TOKEN_EXTRACTION,
+            extractedToken == null ? StageResult.CLIENT_ERROR : StageResult.SUCCESS, System.nanoTime() - extractionStartedAt);
+        Mono<String> extractedTokenMono = Mono.justOrEmpty(extractedToken)
             .switchIfEmpty(Mono.error(ApplicationException.from(GatewayErrorCode.EMPTY_TOKEN)));
 
         // 엔드포인트에 대한 토큰 검증 필요 유무 판단
-        boolean requiresTokenValidation = !isExcludedFromTokenValidation(path);
+        boolean requiresTokenValidation = endpointSecurity.requiresTokenValidation();
 
         return extractedTokenMono
-            .flatMap(token -> grantPassportByToken(exchange, chain, token, requiresTokenValidation))
+            .flatMap(token -> grantPassportByToken(exchange, chain, routeId, token, requiresTokenValidation))
             .onErrorResume(error -> handleError(exchange, error));
     }
 
-    /**
-     * 주어진 경로가 토큰 검증에서 제외된 엔드포인트인지 확인합니다.
-     * @param path 검사할 URI 경로
-     * @return 토큰 검증에서 제외된 경로인지 여부
-     */
-    private boolean isExcludedFromTokenValidation(String path) {
-        return Stream.of(EXCLUDE_TOKEN_VALIDATION)
-            .anyMatch(endpoint -> pathMatcher.match(endpoint, path));
-    }
-
     /**
      * 추출된 토큰으로 Passport 데이터를 헤더에 추가합니다.
      * requiresTokenValidation 값에 따라 토큰 검증 처리를 포함합니다.
      */
-    private Mono<Void> grantPassportByToken(ServerWebExchange exchange, GatewayFilterChain chain, String token, boolean requiresTokenValidation) {
-        Mono<String> validTokenMono = requiresTokenValidation
-            ? accessTokenValidator.validateToken(token)
-            : Mono.just(token);
-
-        return validTokenMono
-            .flatMap(validToken -> processPassportData(exchange, validToken))
+    private Mono<Void> grantPassportByToken(ServerWebExchange exchange, GatewayFilterChain chain, String routeId,
+                                            String token, boolean requiresTokenValidation) {
+        Mono<Map<String, String>> passportMono = requiresTokenValidation
+            ? gatewayStageTimers.time(accessTokenValidator.validateClaims(token), routeId, GatewayStage.TOKEN_VERIFICATION)
+                .doOnNext(claims -> rememberUserId(exchange, claims.get(AccessTokenClaimKeys.USER_ID.getValue())))
+                .flatMap(claims -> gatewayStageTimers.time(passportService.getPassport(routeId, token, claims), routeId, GatewayStage.PASSPORT_FETCH))
+            : gatewayStageTimers.time(passportService.issuePassport(token), routeId, GatewayStage.PASSPORT_FETCH);
+
+        return passportMono
+            .flatMap(passportData -> addPassportHeaders(exchange, passportData))
             .flatMap(chain::filter);
     }
 
-    /**
-     * 주어진 경로가 인증이 필요 없는 엔드포인트인지 확인하여
-     * 인증이 필요 없는 경로이면 true, 그렇지 않으면 false 를 반환합니다.
-     * @param path 검사할 URI 경로
-     * @return 인증이 필요한 경로인지 여부
-     */
-    private boolean isAnonymousEndpoint(String path) {
-        return Stream.of(
-                WebSecurityUrl.INTERNAL_ENDPOINTS,
-            WebSecurityUrl.READ_ONLY_PUBLIC_ENDPOINTS, WebSecurityUrl.ANONYMOUS_ENDPOINTS, WebSecurityUrl.SWAGGER_ENDPOINTS
-            )
-            .flatMap(Arrays::stream)
-            .peek(endpoint -> log.debug("Checking endpoint: {}, Match result: {}", endpoint, pathMatcher.match(endpoint, path)))
-            .anyMatch(endpoint -> pathMatcher.match(endpoint, path));
+    private void recordTotal(ServerWebExchange exchange, String routeId, SignalType signal, long startedAt) {
+        if (signal == SignalType.CANCEL) {
+            return;
+        }
+        StageResult result = signal == SignalType.ON_ERROR
+            ? StageResult.FAILURE
+            : StageResult.of(exchange.getResponse().getStatusCode());
+        gatewayStageTimers.record(routeId, GatewayStage.TOTAL, result, System.nanoTime() - startedAt);
     }
 
-    private Mono<ServerWebExchange> processPassportData(ServerWebExchange exchange, String accessToken) {
-        return getPassportData(accessToken)
-            .flatMap(passportData -> addPassportHeaders(exchange, passportData));
+    private void rememberUserId(ServerWebExchange exchange, Object userId) {
+        if (userId != null) {
+            exchange.getAttributes().put(VERIFIED_USER_ID_ATTR, userId);
+        }
     }
 
-    /**
-     * 검증한 토큰에 대한 사용자의 Passport를 발급 받아 반환합니다.
-     * @param accessToken Bearer 토큰
-     * @return 패스포트 데이터를 포함한 Mono<Map>
-     */
-    private Mono<Map<String, String>> getPassportData(String accessToken) {
-        return webClient.get()
-            .uri(PASSPORT_ENDPOINT)
-            .header(HttpHeaders.AUTHORIZATION, BEARER.getValue() + " " + accessToken)
-            .retrieve()
-            .bodyToMono(new ParameterizedTypeReference<>() {});
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route == null ? null : route.getId();
     }
 
     /**
@@ -134,54 +150,40 @@ public class AccessTokenFilter implements GlobalFilter {
      * @param passport
      */
     private Mono<ServerWebExchange> addPassportHeaders(ServerWebExchange exchange, Map<String, String> passport) {
-        ServerHttpRequest.Builder builder = exchange.getRequest().mutate();
-        passport.forEach((key, value) -> builder.header(PASSPORT_HEADER_PREFIX.getValue() + key, value));
-        ServerHttpRequest newRequest = builder.build();
-
-        log.info("Processed Passport:");
-        newRequest.getHeaders().forEach((key, values) -> {
-            log.info("  {}: {}", key, String.join(", ", values));
-        });
+        ServerHttpRequest newRequest = PassportHeaders.addTo(exchange.getRequest(), passport);
         return Mono.just(exchange.mutate().request(newRequest).build());
     }
 
     /**
      * 에러 처리 메서드
+     * 만료, 위조, 누락, 폐기 토큰처럼 예상된 인증 실패는 메트릭으로 세고 로그는 샘플링해서 남깁니다.
      * @param exchange 현재 서버 웹 교환
      * @param error 발생한 에러
      * @return 에러 응답을 포함한 Mono<Void>
      */
     private Mono<Void> handleError(ServerWebExchange exchange, Throwable error) {
-        log.error("Error occurred in AccessTokenFilter: ", error);
         HttpStatus status;
         BaseErrorCode errorCode;
 
         if (error instanceof ApplicationException) {
-            status = HttpStatus.UNAUTHORIZED;
             errorCode = ((ApplicationException) error).getCode();
+            status = errorCode.getHttpStatus().is5xxServerError() ? errorCode.getHttpStatus() : HttpStatus.UNAUTHORIZED;
         } else {
             status = HttpStatus.INTERNAL_SERVER_ERROR;
             errorCode = CommonErrorCode.INTERNAL_SERVER_ERROR;
         }
 
-        exchange.getResponse().setStatusCode(status);
-        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
-
-        byte[] errorResponse = createErrorResponse(errorCode);
-
-        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(errorResponse)));
-    }
-
-    private byte[] createErrorResponse(BaseErrorCode errorCode) {
-        ApplicationResponse<Object> body = ApplicationResponse.onFailure(errorCode.getCustomCode(), errorCode.getMessage(), null);
-
-        byte[] bytes;
-        try {
-            bytes = objectMapper.writeValueAsBytes(body);
-        } catch (JsonProcessingException e) {
-            log.error("Error while serializing error response", e);
-            bytes = errorCode.getMessage().getBytes();
+        Counter rejections = expectedRejections.get(errorCode);
+        if (rejections != null) {
+            rejections.increment();
+            long sampled = rejectionLogSampler.sample();
+            if (sampled > 0) {
+                log.warn("Rejected unauthenticated request: {} ({} auth failures since last log)", errorCode.getCustomCode(), sampled);
+            }
+        } else {
+            log.error("Error occurred in AccessTokenFilter: ", error);
         }
-        return bytes;
+
+        return errorResponseBodies.write(exchange.getResponse(), status, errorCode);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package codeping.flex.gateway.security.filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 엔드포인트의 보안 분류입니다.
+ * 한 경로가 여러 분류에 해당하면 선언 순서가 앞선 분류가 우선합니다.
+ */
+@Getter
+@AllArgsConstructor
+public enum EndpointSecurity {
+    INTERNAL(true),
+    PUBLIC(true),
+    ANONYMOUS(true),
+    SWAGGER(true),
+    EXCLUDE_VALIDATION(false),
+    PROTECTED(false),
+    ;
+
+    /**
+     * 인증 없이 통과하는 분류인지 여부
+     */
+    private final boolean anonymous;
+
+    /**
+     * @return 토큰 서명/만료 검증이 필요한지 여부
+     */
+    public boolean requiresTokenValidation() {
+        return this != EXCLUDE_VALIDATION;
+    }
+}
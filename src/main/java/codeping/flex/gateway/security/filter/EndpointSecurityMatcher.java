@@ -0,0 +1,208 @@
+package codeping.flex.gateway.security.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.springframework.util.PathMatcher;
+
+/**
+ * 엔드포인트 패턴을 세그먼트 트라이로 컴파일하여, 요청 경로의 보안 분류를 한 번의 탐색으로 찾습니다.
+ * 리터럴 세그먼트, 세그먼트 전체 와일드카드({@code *}, {@code {var}}), 끝의 {@code /**} 는 트라이로 처리하고,
+ * 그 밖의 Ant 패턴(예: {@code *.json}, 중간의 {@code **})만 {@link PathMatcher} 로 따로 검사합니다.
+ * 매칭 결과는 {@link org.springframework.util.AntPathMatcher} 와 같으며, 탐색 중에는 객체를 할당하지 않습니다.
+ */
+public final class EndpointSecurityMatcher {
+
+    private static final EndpointSecurity[] SECURITIES = EndpointSecurity.values();
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+    private static final int DEFAULT = EndpointSecurity.PROTECTED.ordinal();
+    private static final char SEPARATOR = '/';
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final Node root;
+    private final FallbackPattern[] fallbackPatterns;
+    private final PathMatcher fallbackMatcher;
+    private final int patternCount;
+
+    private EndpointSecurityMatcher(Node root, FallbackPattern[] fallbackPatterns, PathMatcher fallbackMatcher, int patternCount) {
+        this.root = root;
+        this.fallbackPatterns = fallbackPatterns;
+        this.fallbackMatcher = fallbackMatcher;
+        this.patternCount = patternCount;
+    }
+
+    /**
+     * 보안 분류별 패턴 목록을 컴파일합니다. 여러 분류에 중복된 패턴은 우선순위가 높은 분류 하나로 합쳐집니다.
+     * @param patterns        보안 분류별 Ant 스타일 패턴
+     * @param fallbackMatcher 트라이로 표현할 수 없는 패턴을 검사할 매처
+     */
+    public static EndpointSecurityMatcher compile(Map<EndpointSecurity, ? extends Iterable<String>> patterns, PathMatcher fallbackMatcher) {
+        Node root = new Node();
+        List<FallbackPattern> fallbackPatterns = new ArrayList<>();
+        int patternCount = 0;
+
+        for (Map.Entry<EndpointSecurity, ? extends Iterable<String>> entry : patterns.entrySet()) {
+            int security = entry.getKey().ordinal();
+            for (String pattern : entry.getValue()) {
+                patternCount++;
+                if (!insert(root, pattern, security)) {
+                    fallbackPatterns.add(new FallbackPattern(pattern, security));
+                }
+            }
+        }
+        root.freeze();
+        return new EndpointSecurityMatcher(root, fallbackPatterns.toArray(FallbackPattern[]::new), fallbackMatcher, patternCount);
+    }
+
+    /**
+     * 요청 경로의 보안 분류를 찾습니다. 어떤 패턴에도 해당하지 않으면 {@link EndpointSecurity#PROTECTED} 입니다.
+     * @param path 요청 URI 경로
+     */
+    public EndpointSecurity match(String path) {
+        boolean trailingSeparator = path.length() > 1 && path.charAt(path.length() - 1) == SEPARATOR;
+        int best = match(root, path, 0, trailingSeparator);
+        for (FallbackPattern fallback : fallbackPatterns) {
+            if (fallback.security() < best && fallbackMatcher.match(fallback.pattern(), path)) {
+                best = fallback.security();
+            }
+        }
+        return SECURITIES[Math.min(best, DEFAULT)];
+    }
+
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    private static int match(Node node, String path, int from, boolean trailingSeparator) {
+        int best = node.catchAll;
+        int start = from;
+        while (start < path.length() && path.charAt(start) == SEPARATOR) {
+            start++;
+        }
+
+        if (start == path.length()) {
+            best = Math.min(best, trailingSeparator ? node.terminalWithSeparator : node.terminal);
+            if (trailingSeparator && node.wildcardChild != null) {
+                best = Math.min(best, node.wildcardChild.terminal);
+                best = Math.min(best, node.wildcardChild.terminalWithSeparator);
+            }
+            return best;
+        }
+
+        int end = path.indexOf(SEPARATOR, start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - start;
+
+        String[] segments = node.literalSegments;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.length() == length && path.regionMatches(start, segment, 0, length)) {
+                best = Math.min(best, match(node.literalChildren[i], path, end, trailingSeparator));
+            }
+        }
+        if (node.wildcardChild != null) {
+            best = Math.min(best, match(node.wildcardChild, path, end, trailingSeparator));
+        }
+        return best;
+    }
+
+    /**
+     * @return 트라이로 표현할 수 있어 삽입했으면 true, 아니면 false
+     */
+    private static boolean insert(Node root, String pattern, int security) {
+        String[] segments = Arrays.stream(pattern.split(String.valueOf(SEPARATOR)))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+        if (!pattern.startsWith(String.valueOf(SEPARATOR)) || !isSupported(segments)) {
+            return false;
+        }
+
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                node.catchAll = Math.min(node.catchAll, security);
+                return true;
+            }
+            node = isWildcard(segment) ? node.wildcardChild() : node.literalChild(segment);
+        }
+
+        if (pattern.length() > 1 && pattern.endsWith(String.valueOf(SEPARATOR))) {
+            node.terminalWithSeparator = Math.min(node.terminalWithSeparator, security);
+        } else {
+            node.terminal = Math.min(node.terminal, security);
+        }
+        return true;
+    }
+
+    private static boolean isSupported(String[] segments) {
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                if (i != segments.length - 1) {
+                    return false;
+                }
+            } else if (!isWildcard(segment) && hasWildcardCharacter(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWildcard(String segment) {
+        return "*".equals(segment)
+                || (segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('{', 1) < 0 && !segment.contains(":"));
+    }
+
+    private static boolean hasWildcardCharacter(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private record FallbackPattern(String pattern, int security) {
+    }
+
+    private static final class Node {
+
+        private final List<String> literalSegmentList = new ArrayList<>();
+        private final List<Node> literalChildList = new ArrayList<>();
+
+        private String[] literalSegments;
+        private Node[] literalChildren;
+        private Node wildcardChild;
+        private int terminal = NO_MATCH;
+        private int terminalWithSeparator = NO_MATCH;
+        private int catchAll = NO_MATCH;
+
+        private Node literalChild(String segment) {
+            int index = literalSegmentList.indexOf(segment);
+            if (index >= 0) {
+                return literalChildList.get(index);
+            }
+            Node child = new Node();
+            literalSegmentList.add(segment);
+            literalChildList.add(child);
+            return child;
+        }
+
+        private Node wildcardChild() {
+            if (wildcardChild == null) {
+                wildcardChild = new Node();
+            }
+            return wildcardChild;
+        }
+
+        private void freeze() {
+            literalSegments = literalSegmentList.toArray(String[]::new);
+            literalChildren = literalChildList.toArray(Node[]::new);
+            for (Node child : literalChildren) {
+                child.freeze();
+            }
+            if (wildcardChild != null) {
+                wildcardChild.freeze();
+            }
+        }
+    }
+}
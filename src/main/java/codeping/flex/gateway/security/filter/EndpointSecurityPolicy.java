@@ -0,0 +1,107 @@
+package codeping.flex.gateway.security.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.PathMatcher;
+
+/**
+ * security.endpoints 설정을 컴파일한 현재 엔드포인트 보안 정책을 보관합니다.
+ * 설정이 바뀌면(/actuator/refresh) 새 정책을 완전히 컴파일한 뒤 참조를 한 번에 교체하므로,
+ * 처리 중인 요청은 이전 정책이나 새 정책 중 하나만 보게 됩니다.
+ */
+@Slf4j
+@Component
+public class EndpointSecurityPolicy {
+
+    private final Environment environment;
+    private final PathMatcher pathMatcher;
+    private final Timer compileTimer;
+    private final AtomicReference<CompiledPolicy> current = new AtomicReference<>();
+
+    public EndpointSecurityPolicy(Environment environment, PathMatcher pathMatcher, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.pathMatcher = pathMatcher;
+        this.compileTimer = Timer.builder("security.endpoints.policy.compile")
+                .description("엔드포인트 보안 정책 컴파일 시간")
+                .register(meterRegistry);
+        Gauge.builder("security.endpoints.policy.version", current, policy -> policy.get().version())
+                .description("현재 적용된 엔드포인트 보안 정책 버전")
+                .register(meterRegistry);
+        reload();
+    }
+
+    /**
+     * 요청 경로의 보안 분류를 현재 정책으로 찾습니다.
+     * @param path 요청 URI 경로
+     */
+    public EndpointSecurity match(String path) {
+        return current.get().matcher().match(path);
+    }
+
+    public CompiledPolicy current() {
+        return current.get();
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(EndpointSecurityProperties.PREFIX))) {
+            reload();
+        }
+    }
+
+    /**
+     * 설정을 다시 바인딩하여 내용이 바뀌었으면 새 정책으로 교체합니다.
+     * 바인딩이나 컴파일에 실패하면 기존 정책을 유지합니다.
+     */
+    synchronized void reload() {
+        try {
+            EndpointSecurityProperties properties = Binder.get(environment)
+                    .bindOrCreate(EndpointSecurityProperties.PREFIX, EndpointSecurityProperties.class);
+            CompiledPolicy previous = current.get();
+            if (previous != null && previous.properties().equals(properties)) {
+                return;
+            }
+
+            long startedAt = System.nanoTime();
+            EndpointSecurityMatcher matcher = EndpointSecurityMatcher.compile(properties.toPatterns(), pathMatcher);
+            long compileNanos = System.nanoTime() - startedAt;
+            compileTimer.record(compileNanos, TimeUnit.NANOSECONDS);
+
+            long version = previous == null ? 1 : previous.version() + 1;
+            current.set(new CompiledPolicy(version, properties, matcher, Instant.now(), compileNanos));
+            log.info("Endpoint security policy v{} compiled: {} patterns in {} µs",
+                    version, matcher.getPatternCount(), TimeUnit.NANOSECONDS.toMicros(compileNanos));
+        } catch (RuntimeException e) {
+            if (current.get() == null) {
+                throw e;
+            }
+            log.error("Failed to reload endpoint security policy, keeping v{}", current.get().version(), e);
+        }
+    }
+
+    /**
+     * @param version      정책 버전 (교체될 때마다 1씩 증가)
+     * @param properties   컴파일에 사용한 설정
+     * @param matcher      컴파일된 매처
+     * @param compiledAt   컴파일 시각
+     * @param compileNanos 컴파일 소요 시간
+     */
+    public record CompiledPolicy(
+            long version,
+            EndpointSecurityProperties properties,
+            EndpointSecurityMatcher matcher,
+            Instant compiledAt,
+            long compileNanos
+    ) {
+    }
+}
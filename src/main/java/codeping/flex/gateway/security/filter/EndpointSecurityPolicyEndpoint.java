@@ -0,0 +1,32 @@
+package codeping.flex.gateway.security.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/endpointsecurity 로 현재 적용된 엔드포인트 보안 정책을 보여줍니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "endpointsecurity")
+public class EndpointSecurityPolicyEndpoint {
+
+    private final EndpointSecurityPolicy endpointSecurityPolicy;
+
+    @ReadOperation
+    public Map<String, Object> policy() {
+        EndpointSecurityPolicy.CompiledPolicy policy = endpointSecurityPolicy.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", policy.version());
+        body.put("compiledAt", policy.compiledAt());
+        body.put("compileTimeMicros", TimeUnit.NANOSECONDS.toMicros(policy.compileNanos()));
+        body.put("patternCount", policy.matcher().getPatternCount());
+        body.put("endpoints", policy.properties().toPatterns());
+        return body;
+    }
+}
@@ -0,0 +1,35 @@
+package codeping.flex.gateway.security.filter;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * security.endpoints 설정으로 관리하는 엔드포인트 보안 정책입니다.
+ * @param internal               내부 서비스 간 호출 엔드포인트
+ * @param readOnlyPublic         정적 공개 리소스
+ * @param anonymous              인증 없이 접근 가능한 엔드포인트
+ * @param swagger                Swagger UI 와 각 서비스의 API 문서
+ * @param excludeTokenValidation 토큰은 필요하지만 서명/만료 검증은 하지 않는 엔드포인트
+ */
+public record EndpointSecurityProperties(
+        @DefaultValue List<String> internal,
+        @DefaultValue List<String> readOnlyPublic,
+        @DefaultValue List<String> anonymous,
+        @DefaultValue List<String> swagger,
+        @DefaultValue List<String> excludeTokenValidation
+) {
+
+    public static final String PREFIX = "security.endpoints";
+
+    public Map<EndpointSecurity, List<String>> toPatterns() {
+        Map<EndpointSecurity, List<String>> patterns = new EnumMap<>(EndpointSecurity.class);
+        patterns.put(EndpointSecurity.INTERNAL, internal);
+        patterns.put(EndpointSecurity.PUBLIC, readOnlyPublic);
+        patterns.put(EndpointSecurity.ANONYMOUS, anonymous);
+        patterns.put(EndpointSecurity.SWAGGER, swagger);
+        patterns.put(EndpointSecurity.EXCLUDE_VALIDATION, excludeTokenValidation);
+        return patterns;
+    }
+}
@@ -0,0 +1,211 @@
+package codeping.flex.gateway.security.filter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * 원래 요청 헤더 위에 Passport 헤더를 덧씌워 보여주는 헤더 맵입니다.
+ * 이름이 같은 원래 헤더는 (대소문자 무시) Passport 값으로 가려지며, 이는 request.mutate().header() 로 덮어쓰던 동작과 같습니다.
+ * 읽기는 복사 없이 두 맵을 차례로 보고, 뒤 필터가 헤더를 바꾸려 할 때만 한 번 복사합니다.
+ */
+final class PassportHeaderMap extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    private final HttpHeaders original;
+    private final List<String> names;
+    private final List<List<String>> values;
+    private HttpHeaders written;
+
+    PassportHeaderMap(HttpHeaders original, Map<String, String> passport) {
+        this.original = original;
+        this.names = new ArrayList<>(passport.size());
+        this.values = new ArrayList<>(passport.size());
+        passport.forEach((field, value) -> {
+            names.add(PassportHeaders.headerName(field));
+            values.add(Collections.singletonList(value));
+        });
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (written != null) {
+            return written.get(key);
+        }
+        int index = indexOf(key);
+        return index >= 0 ? values.get(index) : original.get(key);
+    }
+
+    @Override
+    public String getFirst(String key) {
+        List<String> headerValues = get(key);
+        return headerValues == null || headerValues.isEmpty() ? null : headerValues.get(0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (written != null) {
+            return written.containsKey(key);
+        }
+        return indexOf(key) >= 0 || original.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        if (written != null) {
+            return written.size();
+        }
+        int size = original.size();
+        for (String name : names) {
+            if (!original.containsKey(name)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        if (written != null) {
+            return written.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, List<String>>> iterator() {
+                return new OverlayIterator();
+            }
+
+            @Override
+            public int size() {
+                return PassportHeaderMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        return write().put(key, value);
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        return write().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<String>> map) {
+        write().putAll(map);
+    }
+
+    @Override
+    public void clear() {
+        write().clear();
+    }
+
+    @Override
+    public void add(String key, String value) {
+        write().add(key, value);
+    }
+
+    @Override
+    public void addAll(String key, List<? extends String> values) {
+        write().addAll(key, values);
+    }
+
+    @Override
+    public void addAll(MultiValueMap<String, String> values) {
+        write().addAll(values);
+    }
+
+    @Override
+    public void set(String key, String value) {
+        write().set(key, value);
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        write().setAll(values);
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        if (written != null) {
+            return written.toSingleValueMap();
+        }
+        Map<String, String> singleValueMap = new LinkedHashMap<>(size());
+        forEach((key, headerValues) -> singleValueMap.put(key, headerValues.isEmpty() ? null : headerValues.get(0)));
+        return singleValueMap;
+    }
+
+    private int indexOf(Object key) {
+        if (key instanceof String name) {
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private HttpHeaders write() {
+        if (written == null) {
+            HttpHeaders copy = new HttpHeaders();
+            // 뒤에서 값을 더할 수 있도록 값 목록도 수정 가능한 목록으로 복사합니다.
+            original.forEach((key, headerValues) -> copy.put(key, new ArrayList<>(headerValues)));
+            for (int i = 0; i < names.size(); i++) {
+                copy.put(names.get(i), new ArrayList<>(values.get(i)));
+            }
+            written = copy;
+        }
+        return written;
+    }
+
+    /**
+     * Passport 헤더를 먼저, 이어서 가려지지 않은 원래 헤더를 돌려줍니다.
+     */
+    private final class OverlayIterator implements Iterator<Entry<String, List<String>>> {
+
+        private final Iterator<Entry<String, List<String>>> originalEntries = original.entrySet().iterator();
+        private int passportIndex;
+        private Entry<String, List<String>> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (passportIndex < names.size()) {
+                next = Map.entry(names.get(passportIndex), values.get(passportIndex));
+                passportIndex++;
+                return true;
+            }
+            while (originalEntries.hasNext()) {
+                Entry<String, List<String>> entry = originalEntries.next();
+                if (indexOf(entry.getKey()) < 0) {
+                    next = entry;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, List<String>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, List<String>> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
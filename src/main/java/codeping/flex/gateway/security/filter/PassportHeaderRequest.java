@@ -0,0 +1,25 @@
+package codeping.flex.gateway.security.filter;
+
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+
+/**
+ * 원래 요청에 Passport 헤더만 덧씌운 요청입니다.
+ * request.mutate() 와 달리 헤더 맵과 요청 객체를 새로 만들지 않습니다.
+ */
+final class PassportHeaderRequest extends ServerHttpRequestDecorator {
+
+    private final HttpHeaders headers;
+
+    PassportHeaderRequest(ServerHttpRequest delegate, Map<String, String> passport) {
+        super(delegate);
+        this.headers = new HttpHeaders(new PassportHeaderMap(delegate.getHeaders(), passport));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
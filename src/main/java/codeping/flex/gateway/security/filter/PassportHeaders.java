@@ -0,0 +1,59 @@
+package codeping.flex.gateway.security.filter;
+
+import static codeping.flex.gateway.security.jwt.AuthConstants.PASSPORT_HEADER_PREFIX;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Passport 데이터를 x-pp- 요청 헤더로 옮깁니다.
+ * 헤더 이름은 필드마다 한 번만 만들어 재사용하고, 원래 요청 헤더를 복사하지 않고 Passport 헤더만 덧씌운 요청을 만듭니다.
+ */
+public final class PassportHeaders {
+
+    /**
+     * 알려진 Passport 필드 (auth.yml 의 passport.local.claims)
+     */
+    static final List<String> KNOWN_FIELDS = List.of("id", "role", "email");
+
+    /**
+     * USER-SERVICE 응답에 새 필드가 계속 생겨도 캐시가 커지지 않도록 제한합니다.
+     */
+    private static final int MAX_HEADER_NAMES = 64;
+    private static final Map<String, String> HEADER_NAMES = new ConcurrentHashMap<>();
+
+    static {
+        KNOWN_FIELDS.forEach(PassportHeaders::headerName);
+    }
+
+    private PassportHeaders() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param request  원래 요청
+     * @param passport 발급받은 Passport
+     * @return Passport 헤더가 추가된 요청
+     */
+    public static ServerHttpRequest addTo(ServerHttpRequest request, Map<String, String> passport) {
+        return new PassportHeaderRequest(request, passport);
+    }
+
+    /**
+     * @param field Passport 필드명
+     * @return x-pp- 접두사가 붙은 헤더 이름 (intern 된 문자열)
+     */
+    public static String headerName(String field) {
+        String headerName = HEADER_NAMES.get(field);
+        if (headerName != null) {
+            return headerName;
+        }
+        headerName = (PASSPORT_HEADER_PREFIX.getValue() + field).intern();
+        if (HEADER_NAMES.size() < MAX_HEADER_NAMES) {
+            HEADER_NAMES.putIfAbsent(field, headerName);
+        }
+        return headerName;
+    }
+}
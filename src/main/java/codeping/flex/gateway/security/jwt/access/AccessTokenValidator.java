@@ -4,16 +4,24 @@ import codeping.flex.gateway.global.common.exception.ApplicationException;
 import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
 import codeping.flex.gateway.security.jwt.AuthConstants;
 import codeping.flex.gateway.security.jwt.TokenValidator;
+import codeping.flex.gateway.security.jwt.key.KeyRingSigningKeyResolver;
+import codeping.flex.gateway.security.jwt.key.SigningKeyRingChangedEvent;
+import codeping.flex.gateway.security.jwt.revocation.TokenRevocationList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.util.Date;
 import java.util.List;
-import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
@@ -24,8 +32,34 @@ import reactor.core.publisher.Mono;
 @Component
 public class AccessTokenValidator implements TokenValidator {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
+    private static final String VERIFIED_TOKEN_CACHE_NAME = "verifiedAccessTokens";
+
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedTokens;
+    private final TokenRevocationList revocationList;
+
+    /**
+     * JwtParser 는 생성 시 한 번만 만들어 재사용하며, 서명 키는 키 링에서 JWT 헤더의 kid 로 찾습니다.
+     * 검증에 성공한 토큰은 exp 까지 최근 사용 순으로 보관하여, 같은 토큰의 재검증 시 서명 검증과 JSON 파싱을 생략합니다.
+     * 폐기 여부는 캐시에 적중한 토큰도 매번 확인합니다.
+     */
+    public AccessTokenValidator(
+            KeyRingSigningKeyResolver signingKeyResolver,
+            @Value("${jwt.verified-token-cache.maximum-size:10000}") long verifiedTokenCacheSize,
+            TokenRevocationList revocationList,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtParser = Jwts.parserBuilder()
+            .setSigningKeyResolver(signingKeyResolver)
+            .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheSize)
+            .expireAfter(new UntilTokenExpiration())
+            .recordStats()
+            .build();
+        this.revocationList = revocationList;
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, VERIFIED_TOKEN_CACHE_NAME);
+    }
 
     /**
      * HTTP 요청 헤더에서 에서 Bearer 토큰을 추출합니다.
@@ -36,9 +70,7 @@ public class AccessTokenValidator implements TokenValidator {
         List<String> authHeaders = request.getHeaders().get(HttpHeaders.AUTHORIZATION);
         if (authHeaders != null && !authHeaders.isEmpty()) {
             String authHeader = authHeaders.get(0);
-            log.info("auth header: {}", authHeader);
             if (StringUtils.hasText(authHeader) && authHeader.startsWith(AuthConstants.BEARER.getValue())) {
-                log.info("extracted token: {}", authHeader.split(" ")[1]);
                 return authHeader.split(" ")[1];
             }
         }
@@ -47,11 +79,20 @@ public class AccessTokenValidator implements TokenValidator {
 
     /**
      * 추출한 JWT 토큰의 유효성을 검사합니다.
-     * 토큰이 있는지, 유효한 토큰인지, 만료된 토큰인지를 검증합니다.
+     * 토큰이 있는지, 유효한 토큰인지, 만료된 토큰인지, 폐기된 토큰인지를 검증합니다.
      * @param token JWT 토큰
      * @return 유효한 토큰이면 Mono<String>
      */
     public Mono<String> validateToken(String token) {
+        return validateClaims(token).map(claims -> token);
+    }
+
+    /**
+     * 추출한 JWT 토큰의 유효성을 검사하고 검증된 클레임을 반환합니다.
+     * @param token JWT 토큰
+     * @return 유효한 토큰이면 Mono<Claims>
+     */
+    public Mono<Claims> validateClaims(String token) {
         return Mono.fromCallable(() -> {
             if(!StringUtils.hasText(token)){
                 throw new ApplicationException(GatewayErrorCode.INVALID_JWT);
@@ -60,30 +101,46 @@ public class AccessTokenValidator implements TokenValidator {
             if (isTokenExpired(claims)) {
                 throw new ApplicationException(GatewayErrorCode.JWT_EXPIRED);
             }
-            return token;
+            if (revocationList.isRevoked(claims.getId(), token)) {
+                throw new ApplicationException(GatewayErrorCode.REVOKED_JWT);
+            }
+            return claims;
         })
             .doOnSuccess(t -> log.debug("토큰 검증 성공"))
-            .doOnError(e -> log.error("토큰 검증 실패", e));
+            .doOnError(e -> log.debug("토큰 검증 실패: {}", e.getMessage()));
     }
 
     @Override
     public Claims getClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        Claims verified = verifiedTokens.getIfPresent(token);
+        if (verified != null) {
+            return verified;
+        }
         try {
-            return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+            Claims claims = jwtParser
                 .parseClaimsJws(token)
                 .getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(token, claims);
+            }
+            return claims;
         } catch (ExpiredJwtException e) {
-            log.warn("Token is expired: {}", e.getMessage());
+            log.debug("Token is expired: {}", e.getMessage());
             throw new ApplicationException(GatewayErrorCode.JWT_EXPIRED);
         } catch (Exception e) {
-            log.warn("Token is invalid: {}", e.getMessage());
+            log.debug("Token is invalid: {}", e.getMessage());
             throw new ApplicationException(GatewayErrorCode.INVALID_JWT);
         }
     }
 
+    /**
+     * 키 링이 바뀌면 폐기된 키로 검증했던 토큰이 남지 않도록 검증 캐시를 비웁니다.
+     */
+    @EventListener
+    public void onSigningKeyRingChanged(SigningKeyRingChangedEvent event) {
+        verifiedTokens.invalidateAll();
+    }
+
     @Override
     public boolean isTokenExpired(Claims claims) {
         try {
@@ -93,4 +150,23 @@ public class AccessTokenValidator implements TokenValidator {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    private static class UntilTokenExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package codeping.flex.gateway.security.jwt.key;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 키 링에서 JWT 헤더의 kid 로 서명 키를 찾습니다.
+ * 키 링은 통째로 교체되므로 검증 중인 요청은 항상 완성된 키 링 하나만 보게 됩니다.
+ */
+@Component
+public class KeyRingSigningKeyResolver extends SigningKeyResolverAdapter {
+
+    private final AtomicReference<SigningKeyRing> keyRing;
+
+    public KeyRingSigningKeyResolver(@Value("${jwt.secret-key}") String secretKey) {
+        SecretKey defaultKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.keyRing = new AtomicReference<>(SigningKeyRing.of(defaultKey));
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        SecretKey key = keyRing.get().resolve(header.getKeyId(), Instant.now());
+        if (key == null) {
+            throw new SignatureException("Unknown or retired signing key id: " + header.getKeyId());
+        }
+        return key;
+    }
+
+    public SigningKeyRing current() {
+        return keyRing.get();
+    }
+
+    public void update(SigningKeyRing next) {
+        keyRing.set(next);
+    }
+}
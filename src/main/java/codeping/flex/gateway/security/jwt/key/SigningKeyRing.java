@@ -0,0 +1,100 @@
+package codeping.flex.gateway.security.jwt.key;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.SecretKey;
+
+/**
+ * JWT 헤더의 kid 로 서명 키를 찾는 불변 키 링입니다.
+ * kid 가 없는 토큰은 jwt.secret-key 로 만든 기본 키로 검증합니다.
+ * 설정에서 빠진 키는 바로 제거되지 않고 drain 기간 동안 검증에만 사용된 뒤 폐기됩니다.
+ */
+public final class SigningKeyRing {
+
+    private final SecretKey defaultKey;
+    private final Map<String, SigningKey> keys;
+
+    private SigningKeyRing(SecretKey defaultKey, Map<String, SigningKey> keys) {
+        this.defaultKey = defaultKey;
+        this.keys = keys;
+    }
+
+    public static SigningKeyRing of(SecretKey defaultKey) {
+        return new SigningKeyRing(defaultKey, Map.of());
+    }
+
+    /**
+     * kid 에 해당하는 서명 키를 조회합니다.
+     * @param kid JWT 헤더의 kid, 없으면 null
+     * @param now 현재 시각
+     * @return 서명 키, 없거나 폐기된 키이면 null
+     */
+    public SecretKey resolve(String kid, Instant now) {
+        if (kid == null) {
+            return defaultKey;
+        }
+        SigningKey key = keys.get(kid);
+        if (key == null || key.isRetired(now)) {
+            return null;
+        }
+        return key.secretKey();
+    }
+
+    /**
+     * 새로 읽은 키 목록으로 교체한 키 링을 만듭니다.
+     * 목록에서 빠진 기존 키는 drainPeriod 뒤에 폐기되도록 남겨두고, 이미 폐기 시각이 지난 키는 제외합니다.
+     * @param configured  설정에서 읽은 키 목록
+     * @param now         현재 시각
+     * @param drainPeriod 빠진 키를 계속 허용할 기간
+     * @return 새 키 링
+     */
+    public SigningKeyRing rotate(Map<String, SigningKey> configured, Instant now, Duration drainPeriod) {
+        Map<String, SigningKey> next = new HashMap<>();
+        configured.forEach((kid, key) -> {
+            if (!key.isRetired(now)) {
+                next.put(kid, key);
+            }
+        });
+
+        Instant drainUntil = now.plus(drainPeriod);
+        keys.forEach((kid, key) -> {
+            if (configured.containsKey(kid) || key.isRetired(now)) {
+                return;
+            }
+            Instant retireAt = key.retireAt() != null && key.retireAt().isBefore(drainUntil)
+                    ? key.retireAt()
+                    : drainUntil;
+            next.put(kid, new SigningKey(kid, key.secretKey(), retireAt));
+        });
+        return new SigningKeyRing(defaultKey, Map.copyOf(next));
+    }
+
+    /**
+     * @return 폐기 시각이 지난 키가 남아 있는지 여부
+     */
+    public boolean hasRetiredKeys(Instant now) {
+        return keys.values().stream().anyMatch(key -> key.isRetired(now));
+    }
+
+    public long countActive() {
+        return keys.values().stream().filter(key -> key.retireAt() == null).count();
+    }
+
+    public long countDraining(Instant now) {
+        return keys.values().stream().filter(key -> key.retireAt() != null && !key.isRetired(now)).count();
+    }
+
+    /**
+     * @param kid       키 식별자
+     * @param secretKey 미리 만들어 둔 HMAC 키
+     * @param retireAt  폐기 시각, 없으면 null
+     */
+    public record SigningKey(String kid, SecretKey secretKey, Instant retireAt) {
+
+        public boolean isRetired(Instant now) {
+            return retireAt != null && !now.isBefore(retireAt);
+        }
+    }
+}
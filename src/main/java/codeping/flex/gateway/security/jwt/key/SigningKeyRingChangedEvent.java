@@ -0,0 +1,7 @@
+package codeping.flex.gateway.security.jwt.key;
+
+/**
+ * 키 링이 교체되었음을 알리는 이벤트입니다.
+ */
+public record SigningKeyRingChangedEvent(SigningKeyRing keyRing) {
+}
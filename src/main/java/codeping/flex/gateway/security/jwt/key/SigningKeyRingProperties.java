@@ -0,0 +1,18 @@
+package codeping.flex.gateway.security.jwt.key;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param location       kid=Base64 서명 키 형식의 키 링 파일 경로 (ConfigMap 마운트 경로)
+ * @param reloadInterval 키 링 파일 변경을 확인하는 주기
+ * @param drainPeriod    키 링에서 빠진 키를 계속 허용할 기간
+ */
+@ConfigurationProperties(prefix = "jwt.key-ring")
+public record SigningKeyRingProperties(
+        @DefaultValue("/app/config/jwt-key-ring.properties") String location,
+        @DefaultValue("30s") Duration reloadInterval,
+        @DefaultValue("14d") Duration drainPeriod
+) {
+}
@@ -0,0 +1,124 @@
+package codeping.flex.gateway.security.jwt.key;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ConfigMap 으로 마운트된 키 링 파일을 주기적으로 확인하여 변경되면 키 링을 교체합니다.
+ * 파일 확인과 키 디코딩은 boundedElastic 스케줄러에서 실행되므로 이벤트 루프를 막지 않습니다.
+ * <pre>
+ * # kid=Base64 로 인코딩된 HMAC 키
+ * 2024-11=...
+ * # 선택: 키 폐기 시각 (ISO-8601)
+ * 2024-11.retire-at=2024-12-31T00:00:00Z
+ * </pre>
+ */
+@Slf4j
+@Component
+public class SigningKeyRingReloader {
+
+    private static final String RETIRE_AT_SUFFIX = ".retire-at";
+
+    private final KeyRingSigningKeyResolver keyResolver;
+    private final SigningKeyRingProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path location;
+
+    private FileTime lastModified;
+    private Disposable reloadTask;
+
+    public SigningKeyRingReloader(KeyRingSigningKeyResolver keyResolver,
+                                  SigningKeyRingProperties properties,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.keyResolver = keyResolver;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.location = Path.of(properties.location());
+        Gauge.builder("jwt.key-ring.keys", keyResolver, resolver -> resolver.current().countActive())
+                .tag("state", "active")
+                .register(meterRegistry);
+        Gauge.builder("jwt.key-ring.keys", keyResolver, resolver -> resolver.current().countDraining(Instant.now()))
+                .tag("state", "draining")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        reload();
+        reloadTask = Flux.interval(properties.reloadInterval(), properties.reloadInterval(), Schedulers.boundedElastic())
+                .subscribe(tick -> reload());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloadTask != null) {
+            reloadTask.dispose();
+        }
+    }
+
+    /**
+     * 파일이 바뀌었으면 키 링을 다시 만들고, 바뀌지 않았어도 폐기 시각이 지난 키가 있으면 정리합니다.
+     */
+    synchronized void reload() {
+        Instant now = Instant.now();
+        try {
+            FileTime modified = Files.exists(location) ? Files.getLastModifiedTime(location) : null;
+            boolean changed = modified == null ? lastModified != null : !modified.equals(lastModified);
+            if (!changed && !keyResolver.current().hasRetiredKeys(now)) {
+                return;
+            }
+
+            Map<String, SigningKeyRing.SigningKey> configured = modified == null ? Map.of() : readKeys();
+            SigningKeyRing next = keyResolver.current().rotate(configured, now, properties.drainPeriod());
+            keyResolver.update(next);
+            lastModified = modified;
+
+            log.info("JWT key ring reloaded: {} active, {} draining", next.countActive(), next.countDraining(now));
+            eventPublisher.publishEvent(new SigningKeyRingChangedEvent(next));
+        } catch (Exception e) {
+            log.error("Failed to reload JWT key ring from {}, keeping the current ring", location, e);
+        }
+    }
+
+    private Map<String, SigningKeyRing.SigningKey> readKeys() throws IOException {
+        Properties entries = new Properties();
+        try (Reader reader = Files.newBufferedReader(location, StandardCharsets.UTF_8)) {
+            entries.load(reader);
+        }
+
+        Map<String, SigningKeyRing.SigningKey> keys = new HashMap<>();
+        for (String name : entries.stringPropertyNames()) {
+            if (name.endsWith(RETIRE_AT_SUFFIX)) {
+                continue;
+            }
+            String retireAt = entries.getProperty(name + RETIRE_AT_SUFFIX);
+            keys.put(name, new SigningKeyRing.SigningKey(
+                    name,
+                    Keys.hmacShaKeyFor(Decoders.BASE64.decode(entries.getProperty(name).trim())),
+                    retireAt == null ? null : Instant.parse(retireAt.trim())
+            ));
+        }
+        return keys;
+    }
+}
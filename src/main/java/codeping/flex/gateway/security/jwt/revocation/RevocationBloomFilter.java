@@ -0,0 +1,108 @@
+package codeping.flex.gateway.security.jwt.revocation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 폐기된 토큰 키의 Bloom 필터입니다.
+ * 없다고 답하면 확실히 폐기되지 않은 토큰이므로, 대부분의 요청은 해시 몇 번과 비트 확인만으로 끝납니다.
+ * 추가와 조회는 잠금 없이 동시에 할 수 있고, 항목을 지울 수 없으므로 정리는 새 필터를 만들어 교체합니다.
+ */
+public final class RevocationBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final int capacity;
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    private RevocationBloomFilter(long bitSize, int hashCount, int capacity) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param expectedInsertions 넣을 항목 수
+     * @param falsePositiveRate  그만큼 넣었을 때의 목표 오탐률
+     */
+    public static RevocationBloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        int capacity = Math.max(1, expectedInsertions);
+        long bitSize = Math.max(64, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bitSize / capacity * LN2));
+        return new RevocationBloomFilter(bitSize, hashCount, capacity);
+    }
+
+    public void put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+            words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 지금까지 넣은 항목 수 기준의 예상 오탐률
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashCount * (double) insertions.get() / bitSize), hashCount);
+    }
+
+    public long memoryBytes() {
+        return words.length() * (long) Long.BYTES;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * FNV-1a 64 비트 해시에 murmur3 의 마무리 섞기를 더해 비트를 고르게 퍼뜨립니다.
+     */
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85EC3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,34 @@
+package codeping.flex.gateway.security.jwt.revocation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/revocations 로 폐기 목록과 Bloom 필터 상태를 보여줍니다.
+ * actuator 는 서비스와 같은 포트로 노출되고 게이트웨이 인증 필터를 거치지 않으므로 폐기 등록은 받지 않습니다.
+ * 폐기는 {@link RevocationFeed} 파일로만 등록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "revocations")
+public class RevocationEndpoint {
+
+    private final TokenRevocationList revocationList;
+
+    @ReadOperation
+    public Map<String, Object> revocations() {
+        RevocationBloomFilter filter = revocationList.filter();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("entries", revocationList.size());
+        body.put("bloomBits", filter.bitSize());
+        body.put("bloomHashes", filter.hashCount());
+        body.put("bloomMemoryBytes", filter.memoryBytes());
+        body.put("expectedFalsePositiveRate", filter.expectedFalsePositiveRate());
+        body.put("observedFalsePositiveRate", revocationList.observedFalsePositiveRate());
+        return body;
+    }
+}
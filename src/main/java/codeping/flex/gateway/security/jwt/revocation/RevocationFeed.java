@@ -0,0 +1,122 @@
+package codeping.flex.gateway.security.jwt.revocation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 폐기 목록 서비스를 대신하는 로컬 파일에서 지난번 이후 추가된 줄만 주기적으로 읽어 {@link TokenRevocationList} 에 더합니다.
+ * 파일이 지난번보다 작아지면 교체된 것으로 보고 처음부터 다시 읽습니다.
+ * <pre>
+ * # jti 또는 토큰 SHA-256 해시, 선택: 토큰 만료 시각 (ISO-8601)
+ * 0f8fad5b-d9cb-469f-a165-70867728950e 2024-12-31T00:00:00Z
+ * </pre>
+ */
+@Slf4j
+@Component
+public class RevocationFeed {
+
+    private final TokenRevocationList revocationList;
+    private final RevocationProperties properties;
+    private final Path location;
+
+    private long position;
+    private Disposable pullTask;
+
+    public RevocationFeed(TokenRevocationList revocationList, RevocationProperties properties) {
+        this.revocationList = revocationList;
+        this.properties = properties;
+        this.location = Path.of(properties.feed().location());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        pull();
+        pullTask = Flux.interval(properties.feed().pullInterval(), properties.feed().pullInterval(), Schedulers.boundedElastic())
+                .subscribe(tick -> pull());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (pullTask != null) {
+            pullTask.dispose();
+        }
+    }
+
+    /**
+     * 마지막 줄바꿈까지만 읽고, 아직 쓰는 중인 마지막 줄은 다음에 읽습니다.
+     * @return 이번에 추가한 폐기 항목 수
+     */
+    public synchronized int pull() {
+        try {
+            if (!Files.exists(location)) {
+                position = 0;
+                return 0;
+            }
+            long size = Files.size(location);
+            if (size < position) {
+                position = 0;
+            }
+            if (size == position) {
+                return 0;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size - position));
+            try (FileChannel channel = FileChannel.open(location, StandardOpenOption.READ)) {
+                channel.position(position);
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // 파일 끝까지 읽습니다.
+                }
+            }
+            String chunk = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+            int lastNewline = chunk.lastIndexOf('\n');
+            if (lastNewline < 0) {
+                return 0;
+            }
+            position += chunk.substring(0, lastNewline + 1).getBytes(StandardCharsets.UTF_8).length;
+
+            int added = 0;
+            for (String line : chunk.substring(0, lastNewline).split("\n")) {
+                if (apply(line.trim())) {
+                    added++;
+                }
+            }
+            if (added > 0) {
+                log.info("Pulled {} token revocations from {}", added, location);
+            }
+            return added;
+        } catch (IOException e) {
+            log.error("Failed to pull token revocations from {}", location, e);
+            return 0;
+        }
+    }
+
+    private boolean apply(String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return false;
+        }
+        String[] fields = line.split("\\s+");
+        try {
+            return revocationList.revoke(fields[0], fields.length > 1 ? Instant.parse(fields[1]) : null);
+        } catch (DateTimeParseException e) {
+            log.warn("Skipping token revocation with invalid expiration: {}", fields[1]);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package codeping.flex.gateway.security.jwt.revocation;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled            폐기 토큰 확인 사용 여부
+ * @param expectedInsertions Bloom 필터를 처음 만들 때 예상하는 폐기 토큰 수 (넘으면 더 크게 다시 만듦)
+ * @param maxEntries         보관할 수 있는 최대 폐기 항목 수 (가득 차면 만료된 항목을 지우고, 그래도 차 있으면 새 항목을 받지 않음)
+ * @param falsePositiveRate  Bloom 필터의 목표 오탐률
+ * @param rebuildInterval    만료된 폐기 항목을 정리하고 Bloom 필터를 다시 만드는 주기
+ * @param defaultTtl         만료 시각 없이 들어온 폐기 항목을 보관할 기간 (액세스 토큰 유효 기간)
+ * @param maxTtl             폐기 항목을 보관할 최대 기간, 더 먼 만료 시각은 이 기간으로 줄임 (액세스 토큰 유효 기간)
+ * @param feed               폐기 목록 서비스를 대신하는 로컬 파일 설정
+ */
+@ConfigurationProperties(prefix = "jwt.revocation")
+public record RevocationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int expectedInsertions,
+        @DefaultValue("1000000") int maxEntries,
+        @DefaultValue("0.001") double falsePositiveRate,
+        @DefaultValue("5m") Duration rebuildInterval,
+        @DefaultValue("14d") Duration defaultTtl,
+        @DefaultValue("14d") Duration maxTtl,
+        @DefaultValue Feed feed
+) {
+
+    /**
+     * @param location     한 줄에 폐기 항목 하나씩 추가되는 파일 경로
+     * @param pullInterval 파일에 새로 추가된 줄을 읽는 주기
+     */
+    public record Feed(
+            @DefaultValue("/app/config/jwt-revocations.log") String location,
+            @DefaultValue("10s") Duration pullInterval
+    ) {
+    }
+}
@@ -0,0 +1,201 @@
+package codeping.flex.gateway.security.jwt.revocation;
+
+import codeping.flex.gateway.security.jwt.TokenDigest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 로그아웃, 탈취 등으로 만료 전에 폐기된 액세스 토큰 목록입니다.
+ * 폐기 항목은 jti 또는 토큰 SHA-256 해시({@link TokenDigest})입니다. jti 가 있는 토큰도 해시로 폐기할 수 있으며,
+ * 해시로 등록된 항목이 있을 때만 요청마다 해시를 계산합니다.
+ * 항목 수는 maxEntries, 보관 기간은 maxTtl 로 제한합니다.
+ * 요청마다 Bloom 필터로 먼저 확인하고, 있을 수도 있다고 답한 경우에만 정확한 목록에서 다시 확인합니다.
+ * 만료된 항목 정리와 필터 재생성은 백그라운드에서 새 필터를 다 만든 뒤 교체하므로 요청은 기다리지 않습니다.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final RevocationProperties properties;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final AtomicReference<RevocationBloomFilter> filter;
+    private final Counter passed;
+    private final Counter falsePositives;
+    private final Counter rejected;
+    private volatile int hashEntries;
+    private boolean rebuildPending;
+    private Disposable rebuildTask;
+
+    public TokenRevocationList(RevocationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.filter = new AtomicReference<>(RevocationBloomFilter.create(properties.expectedInsertions(), properties.falsePositiveRate()));
+        this.passed = check(meterRegistry, "passed");
+        this.falsePositives = check(meterRegistry, "false_positive");
+        this.rejected = check(meterRegistry, "revoked");
+        Gauge.builder("jwt.revocation.entries", revoked, Map::size)
+                .description("만료되지 않은 폐기 토큰 수")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.bloom.memory", filter, current -> current.get().memoryBytes())
+                .description("폐기 토큰 Bloom 필터의 비트 배열 크기")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.bloom.expected-fpp", filter, current -> current.get().expectedFalsePositiveRate())
+                .description("현재 항목 수 기준 Bloom 필터의 예상 오탐률")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.bloom.observed-fpp", this, TokenRevocationList::observedFalsePositiveRate)
+                .description("폐기되지 않은 토큰 중 Bloom 필터가 있을 수도 있다고 답한 비율")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.enabled()) {
+            rebuildTask = Flux.interval(properties.rebuildInterval(), properties.rebuildInterval(), Schedulers.boundedElastic())
+                    .subscribe(tick -> rebuild());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuildTask != null) {
+            rebuildTask.dispose();
+        }
+    }
+
+    /**
+     * 요청 스레드에서 호출합니다. 잠금을 잡지 않습니다.
+     * @param jti   검증된 토큰의 jti, 없으면 null
+     * @param token 토큰 원문 (jti 가 없거나 해시로 등록된 항목이 있을 때만 해시를 계산)
+     * @return 폐기된 토큰이면 true
+     */
+    public boolean isRevoked(String jti, String token) {
+        if (!properties.enabled() || revoked.isEmpty()) {
+            return false;
+        }
+        boolean revokedToken = jti == null
+                ? contains(TokenDigest.sha256(token))
+                : contains(jti) || hashEntries > 0 && contains(TokenDigest.sha256(token));
+        if (revokedToken) {
+            rejected.increment();
+        }
+        return revokedToken;
+    }
+
+    private boolean contains(String key) {
+        if (!filter.get().mightContain(key)) {
+            passed.increment();
+            return false;
+        }
+        Instant expiresAt = revoked.get(key);
+        if (expiresAt == null || expiresAt.isBefore(Instant.now())) {
+            falsePositives.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param key       jti 또는 토큰 SHA-256 해시
+     * @param expiresAt 토큰 만료 시각, 모르면 null (defaultTtl 만큼 보관, 최대 maxTtl)
+     * @return 목록에 추가했으면 true, 이미 만료된 항목이거나 목록이 가득 찼으면 false
+     */
+    public synchronized boolean revoke(String key, Instant expiresAt) {
+        Instant now = Instant.now();
+        Instant latest = now.plus(properties.maxTtl());
+        Instant until = expiresAt == null ? now.plus(properties.defaultTtl()) : expiresAt;
+        if (until.isAfter(latest)) {
+            until = latest;
+        }
+        if (!until.isAfter(now)) {
+            return false;
+        }
+        boolean added = !revoked.containsKey(key);
+        if (added && revoked.size() >= properties.maxEntries()) {
+            removeExpired(now);
+            if (revoked.size() >= properties.maxEntries()) {
+                log.warn("Token revocation list is full ({} entries), ignoring revocation", revoked.size());
+                return false;
+            }
+        }
+        revoked.merge(key, until, (previous, next) -> previous.isAfter(next) ? previous : next);
+        if (added && isTokenHash(key)) {
+            hashEntries++;
+        }
+        RevocationBloomFilter current = filter.get();
+        current.put(key);
+        if (current.insertions() > current.capacity() && !rebuildPending) {
+            rebuildPending = true;
+            Schedulers.boundedElastic().schedule(this::rebuild);
+        }
+        return true;
+    }
+
+    /**
+     * 만료된 항목을 지우고, 남은 항목 수에 맞는 새 Bloom 필터를 만들어 교체합니다.
+     * revoke 와 같은 잠금을 쓰므로 만드는 도중 추가된 항목이 새 필터에서 빠지지 않습니다.
+     */
+    public synchronized void rebuild() {
+        removeExpired(Instant.now());
+        RevocationBloomFilter next = RevocationBloomFilter.create(
+                Math.max(properties.expectedInsertions(), revoked.size() * 2), properties.falsePositiveRate());
+        revoked.keySet().forEach(next::put);
+        filter.set(next);
+        rebuildPending = false;
+        log.debug("Token revocation filter rebuilt: {} entries, {} bytes", revoked.size(), next.memoryBytes());
+    }
+
+    private void removeExpired(Instant now) {
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        hashEntries = (int) revoked.keySet().stream().filter(TokenRevocationList::isTokenHash).count();
+    }
+
+    /**
+     * TokenDigest.sha256 결과(43자 Base64 URL-safe)처럼 보이는 키입니다.
+     * 같은 모양의 jti 도 해시로 세지만, 요청마다 해시를 한 번 더 계산하게 될 뿐 판단은 틀리지 않습니다.
+     */
+    private static boolean isTokenHash(String key) {
+        if (key.length() != 43) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public RevocationBloomFilter filter() {
+        return filter.get();
+    }
+
+    public double observedFalsePositiveRate() {
+        double negatives = passed.count() + falsePositives.count();
+        return negatives == 0 ? 0 : falsePositives.count() / negatives;
+    }
+
+    private static Counter check(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("jwt.revocation.checks")
+                .description("폐기 토큰 확인 결과별 요청 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,138 @@
+package codeping.flex.gateway.security.passport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 캐시 미스된 Passport 요청을 짧은 시간(window) 또는 최대 개수(maxSize) 단위로 모아 일괄 발급 API 로 한 번에 요청합니다.
+ * 결과는 요청별로 다시 나누어 전달하며, 일괄 발급 API 가 없거나 실패하면 단건 발급으로 대신합니다.
+ * 여러 이벤트 루프 스레드가 동시에 넣어도 기다리지 않도록 직렬화된 FluxSink 로 받고,
+ * 모이기를 기다리는 요청이 maxPending 을 넘으면 버퍼에 넣지 않고 바로 단건 발급합니다.
+ */
+@Slf4j
+@Component
+public class PassportBatcher {
+
+    private static final Set<Integer> BULK_UNSUPPORTED_STATUSES = Set.of(404, 405, 501);
+
+    private final PassportClient passportClient;
+    private final PassportProperties.Batch properties;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Disposable batching;
+    private final FluxSink<PendingPassport> pendingPassports;
+    private final DistributionSummary batchSize;
+    private final Counter singleFallbacks;
+
+    private volatile long bulkUnavailableUntil;
+
+    public PassportBatcher(PassportClient passportClient, PassportProperties passportProperties, MeterRegistry meterRegistry) {
+        this.passportClient = passportClient;
+        this.properties = passportProperties.batch();
+        this.batchSize = DistributionSummary.builder("passport.batch.size")
+                .description("일괄 발급 한 번에 모인 Passport 요청 수")
+                .register(meterRegistry);
+        this.singleFallbacks = Counter.builder("passport.batch.fallbacks")
+                .description("일괄 발급 대신 단건 발급으로 처리한 Passport 요청 수")
+                .register(meterRegistry);
+        // Flux.create 는 구독할 때 바로 sink 를 넘겨주므로, 구독한 뒤 final 필드에 넣어 다른 스레드에도 안전하게 공개합니다.
+        AtomicReference<FluxSink<PendingPassport>> sink = new AtomicReference<>();
+        this.batching = Flux.<PendingPassport>create(sink::set)
+                .bufferTimeout(properties.maxSize(), properties.window())
+                .doOnNext(batch -> pending.addAndGet(-batch.size()))
+                .flatMap(this::resolve)
+                .subscribe();
+        this.pendingPassports = sink.get();
+    }
+
+    /**
+     * 토큰의 Passport 를 발급 받습니다. 일괄 발급을 사용하지 않으면 바로 단건 발급합니다.
+     * @param accessToken 검증된 액세스 토큰
+     * @return Passport 데이터
+     */
+    public Mono<Map<String, String>> fetch(String accessToken) {
+        if (!properties.enabled() || isBulkUnavailable()) {
+            return passportClient.fetch(accessToken);
+        }
+        return Mono.defer(() -> {
+            if (pending.incrementAndGet() > properties.maxPending()) {
+                pending.decrementAndGet();
+                singleFallbacks.increment();
+                return passportClient.fetch(accessToken);
+            }
+            Sinks.One<Map<String, String>> result = Sinks.one();
+            pendingPassports.next(new PendingPassport(accessToken, result));
+            return result.asMono();
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        batching.dispose();
+    }
+
+    private Mono<Void> resolve(List<PendingPassport> batch) {
+        batchSize.record(batch.size());
+        if (batch.size() == 1 || isBulkUnavailable()) {
+            batch.forEach(this::resolveSingle);
+            return Mono.empty();
+        }
+
+        List<String> accessTokens = batch.stream().map(PendingPassport::accessToken).toList();
+        return passportClient.fetchBulk(accessTokens)
+                .defaultIfEmpty(List.of())
+                .doOnNext(passports -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        Map<String, String> passport = i < passports.size() ? passports.get(i) : null;
+                        if (passport == null) {
+                            singleFallbacks.increment();
+                            resolveSingle(batch.get(i));
+                        } else {
+                            batch.get(i).result().tryEmitValue(passport);
+                        }
+                    }
+                })
+                .onErrorResume(error -> {
+                    if (error instanceof WebClientResponseException responseException
+                            && BULK_UNSUPPORTED_STATUSES.contains(responseException.getStatusCode().value())) {
+                        bulkUnavailableUntil = System.currentTimeMillis() + properties.unavailableCooldown().toMillis();
+                        log.warn("Bulk passport endpoint is unavailable ({}), using single requests for {}",
+                                responseException.getStatusCode(), properties.unavailableCooldown());
+                    } else {
+                        log.warn("Bulk passport request failed, falling back to single requests: {}", error.getMessage());
+                    }
+                    singleFallbacks.increment(batch.size());
+                    batch.forEach(this::resolveSingle);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void resolveSingle(PendingPassport request) {
+        passportClient.fetch(request.accessToken()).subscribe(
+                passport -> request.result().tryEmitValue(passport),
+                error -> request.result().tryEmitError(error),
+                () -> request.result().tryEmitEmpty());
+    }
+
+    private boolean isBulkUnavailable() {
+        return System.currentTimeMillis() < bulkUnavailableUntil;
+    }
+
+    private record PendingPassport(String accessToken, Sinks.One<Map<String, String>> result) {
+    }
+}
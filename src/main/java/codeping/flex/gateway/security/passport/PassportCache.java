@@ -0,0 +1,153 @@
+package codeping.flex.gateway.security.passport;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * 액세스 토큰 해시를 키로 USER-SERVICE 에서 발급받은 Passport 를 보관하는 캐시입니다.
+ * 항목은 설정된 TTL 과 토큰 만료 시각 중 이른 시점에 만료되며, 최대 개수를 넘으면 크기 기반으로 제거됩니다.
+ * TTL 이 지난 항목은 USER-SERVICE 장애 시 사용할 수 있도록 staleWindow 동안 (토큰 만료 전까지만) 더 보관합니다.
+ * 적중/실패/제거 통계는 actuator 의 cache.* 메트릭(cache=passport)으로 노출됩니다.
+ */
+@Component
+public class PassportCache {
+
+    private static final String CACHE_NAME = "passport";
+
+    private final Cache<String, CachedPassport> cache;
+    private final PassportStatsCounter stats = new PassportStatsCounter();
+    private final Duration ttl;
+
+    public PassportCache(PassportProperties passportProperties, MeterRegistry meterRegistry) {
+        PassportProperties.Cache properties = passportProperties.cache();
+        this.ttl = properties.ttl();
+        // TTL 이 지난 항목의 조회는 적중이 아니므로 적중/실패 통계를 직접 기록합니다.
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new PassportExpiry(ttl.plus(passportProperties.resilience().staleWindow())))
+                .recordStats(() -> stats)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 캐시된 Passport 를 조회합니다.
+     * @param tokenHash 액세스 토큰 해시
+     * @return 캐시된 Passport, 없으면 null
+     */
+    public Map<String, String> get(String tokenHash) {
+        // 크기 기반 제거가 사용 빈도를 반영하도록 접근을 기록하는 조회를 씁니다.
+        CachedPassport cached = cache.getIfPresent(tokenHash);
+        if (cached == null || cached.isStale(Instant.now())) {
+            stats.miss();
+            return null;
+        }
+        stats.hit();
+        return cached.passport();
+    }
+
+    /**
+     * TTL 이 지났더라도 토큰이 만료되지 않은 Passport 를 조회합니다. USER-SERVICE 장애 시에만 사용합니다.
+     * @param tokenHash 액세스 토큰 해시
+     * @return 캐시된 Passport, 없으면 null
+     */
+    public Map<String, String> getStale(String tokenHash) {
+        // get 에서 이미 실패로 기록했으므로 통계와 접근 기록을 남기지 않습니다.
+        CachedPassport cached = cache.policy().getIfPresentQuietly(tokenHash);
+        return cached == null ? null : cached.passport();
+    }
+
+    /**
+     * Passport 를 캐시에 저장합니다. 이미 만료된 토큰의 Passport 는 저장하지 않습니다.
+     * @param tokenHash       액세스 토큰 해시
+     * @param passport        발급받은 Passport
+     * @param tokenExpiration 토큰의 exp 클레임
+     */
+    public void put(String tokenHash, Map<String, String> passport, Instant tokenExpiration) {
+        Instant now = Instant.now();
+        if (tokenExpiration.isAfter(now)) {
+            cache.put(tokenHash, new CachedPassport(passport, tokenExpiration, now.plus(ttl)));
+        }
+    }
+
+    private record CachedPassport(Map<String, String> passport, Instant tokenExpiration, Instant freshUntil) {
+
+        boolean isStale(Instant now) {
+            return !now.isBefore(freshUntil);
+        }
+    }
+
+    /**
+     * Caffeine 이 조회마다 기록하는 적중/실패는 TTL 이 지난 항목도 적중으로 세므로 무시하고, {@link #hit()}, {@link #miss()} 로만 기록합니다.
+     */
+    private static final class PassportStatsCounter implements StatsCounter {
+
+        private final ConcurrentStatsCounter delegate = new ConcurrentStatsCounter();
+
+        void hit() {
+            delegate.recordHits(1);
+        }
+
+        void miss() {
+            delegate.recordMisses(1);
+        }
+
+        @Override
+        public void recordHits(int count) {
+        }
+
+        @Override
+        public void recordMisses(int count) {
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+            delegate.recordLoadSuccess(loadTime);
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+            delegate.recordLoadFailure(loadTime);
+        }
+
+        @Override
+        public void recordEviction(int weight, RemovalCause cause) {
+            delegate.recordEviction(weight, cause);
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            return delegate.snapshot();
+        }
+    }
+
+    private record PassportExpiry(Duration retention) implements Expiry<String, CachedPassport> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedPassport value, long currentTime) {
+            long untilTokenExpiration = Duration.between(Instant.now(), value.tokenExpiration()).toNanos();
+            return Math.max(0, Math.min(retention.toNanos(), untilTokenExpiration));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPassport value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPassport value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package codeping.flex.gateway.security.passport;
+
+import static codeping.flex.gateway.security.jwt.AuthConstants.BEARER;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class PassportClient {
+
+    private static final String PASSPORT_ENDPOINT = "/api/passport";
+    private static final String BULK_PASSPORT_ENDPOINT = "/api/passport/bulk";
+
+    private final WebClient userServiceClient;
+
+    /**
+     * 토큰에 대한 사용자의 Passport 를 USER-SERVICE 로부터 발급 받습니다.
+     * @param accessToken Bearer 토큰
+     * @return 패스포트 데이터를 포함한 Mono<Map>
+     */
+    public Mono<Map<String, String>> fetch(String accessToken) {
+        return userServiceClient.get()
+            .uri(PASSPORT_ENDPOINT)
+            .header(HttpHeaders.AUTHORIZATION, BEARER.getValue() + " " + accessToken)
+            .retrieve()
+            .bodyToMono(new ParameterizedTypeReference<>() {});
+    }
+
+    /**
+     * 여러 토큰의 Passport 를 USER-SERVICE 의 일괄 발급 API 로 한 번에 발급 받습니다.
+     * 응답 목록은 요청한 토큰 순서와 같으며, 발급하지 못한 토큰 자리는 null 입니다.
+     * @param accessTokens Bearer 토큰 목록
+     * @return 토큰 순서대로 정렬된 Passport 목록
+     */
+    public Mono<List<Map<String, String>>> fetchBulk(List<String> accessTokens) {
+        return userServiceClient.post()
+            .uri(BULK_PASSPORT_ENDPOINT)
+            .bodyValue(new BulkPassportRequest(accessTokens))
+            .retrieve()
+            .bodyToMono(BulkPassportResponse.class)
+            .map(response -> response.passports() == null ? List.<Map<String, String>>of() : response.passports());
+    }
+
+    public record BulkPassportRequest(List<String> accessTokens) {
+    }
+
+    public record BulkPassportResponse(List<Map<String, String>> passports) {
+    }
+}
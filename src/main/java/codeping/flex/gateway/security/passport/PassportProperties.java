@@ -0,0 +1,108 @@
+package codeping.flex.gateway.security.passport;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "passport")
+public record PassportProperties(
+        @DefaultValue Cache cache,
+        @DefaultValue Local local,
+        @DefaultValue Batch batch,
+        @DefaultValue Resilience resilience
+) {
+
+    /**
+     * @param ttl         캐시된 Passport 의 최대 유지 시간 (토큰 만료 시각이 더 이르면 그 시각까지만 유지)
+     * @param maximumSize 캐시에 보관할 최대 Passport 개수
+     */
+    public record Cache(
+            @DefaultValue("30s") Duration ttl,
+            @DefaultValue("10000") long maximumSize
+    ) {
+    }
+
+    /**
+     * USER-SERVICE 호출 없이 검증된 토큰 클레임으로 Passport 를 만드는 설정입니다.
+     * @param routes 클레임으로 Passport 를 만들 gateway.yml 라우트 id 목록
+     * @param claims Passport 필드명 - 클레임명 매핑
+     */
+    public record Local(
+            @DefaultValue List<String> routes,
+            Map<String, String> claims
+    ) {
+
+        public Local {
+            claims = claims == null ? Map.of() : Map.copyOf(claims);
+        }
+    }
+
+    /**
+     * 캐시 미스된 Passport 요청을 모아 USER-SERVICE 의 일괄 발급 API 로 한 번에 요청하는 설정입니다.
+     * @param enabled             일괄 발급 사용 여부
+     * @param window              요청을 모으는 최대 시간
+     * @param maxSize             한 번에 모을 최대 요청 수
+     * @param unavailableCooldown 일괄 발급 API 가 없다고 판단되면 단건 발급만 사용할 기간
+     * @param maxPending          모이기를 기다릴 수 있는 최대 요청 수 (넘으면 바로 단건 발급)
+     */
+    public record Batch(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("2ms") Duration window,
+            @DefaultValue("64") int maxSize,
+            @DefaultValue("5m") Duration unavailableCooldown,
+            @DefaultValue("1024") int maxPending
+    ) {
+    }
+
+    /**
+     * USER-SERVICE 의 Passport 발급 호출에 적용하는 시간 예산, 서킷 브레이커, 헤지 요청 설정입니다.
+     * @param timeout        헤지 요청을 포함한 발급 호출 한 번의 최대 시간
+     * @param fallback       서킷이 열려 있거나 발급에 실패했을 때의 정책
+     * @param staleWindow    TTL 이 지난 Passport 를 STALE 정책으로 더 사용할 수 있는 기간 (토큰 만료 시각을 넘지 않음)
+     * @param circuitBreaker 서킷 브레이커 설정
+     * @param hedge          헤지 요청 설정
+     */
+    public record Resilience(
+            @DefaultValue("1s") Duration timeout,
+            @DefaultValue("STALE") FallbackPolicy fallback,
+            @DefaultValue("5m") Duration staleWindow,
+            @DefaultValue CircuitBreaker circuitBreaker,
+            @DefaultValue Hedge hedge
+    ) {
+
+        public enum FallbackPolicy {
+            /** 캐시에 남아 있는 만료 전 토큰의 Passport 를 사용하고, 없으면 거절합니다. */
+            STALE,
+            /** 바로 거절합니다. */
+            REJECT
+        }
+
+        /**
+         * @param failureRateThreshold                  서킷을 여는 실패율(%)
+         * @param slidingWindowSize                     실패율을 계산할 최근 호출 수
+         * @param minimumNumberOfCalls                  실패율을 계산하기 위한 최소 호출 수
+         * @param waitDurationInOpenState               서킷이 열린 뒤 half-open 으로 넘어가기까지의 시간
+         * @param permittedNumberOfCallsInHalfOpenState half-open 상태에서 허용할 시험 호출 수
+         */
+        public record CircuitBreaker(
+                @DefaultValue("50") float failureRateThreshold,
+                @DefaultValue("20") int slidingWindowSize,
+                @DefaultValue("10") int minimumNumberOfCalls,
+                @DefaultValue("10s") Duration waitDurationInOpenState,
+                @DefaultValue("3") int permittedNumberOfCallsInHalfOpenState
+        ) {
+        }
+
+        /**
+         * @param enabled  헤지 요청 사용 여부
+         * @param minDelay 헤지 요청을 보내기 전 최소 대기 시간 (최근 p95 지연 시간이 더 길면 그 시간만큼 대기)
+         */
+        public record Hedge(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("50ms") Duration minDelay
+        ) {
+        }
+    }
+}
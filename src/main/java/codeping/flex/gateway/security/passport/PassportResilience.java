@@ -0,0 +1,158 @@
+package codeping.flex.gateway.security.passport;
+
+import codeping.flex.gateway.global.common.exception.ApplicationException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * USER-SERVICE 의 Passport 발급 호출을 시간 예산, 서킷 브레이커, 헤지 요청으로 감쌉니다.
+ * 헤지 요청은 최근 p95 지연 시간이 지나도 응답이 없을 때 같은 요청을 한 번 더 보내며, 로드밸런서를 거치므로 보통 다른 인스턴스로 전달됩니다.
+ * 서킷 상태 전이는 passport.circuit-breaker.* 메트릭, 헤지 요청은 passport.hedge.* 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class PassportResilience {
+
+    private static final String CIRCUIT_BREAKER_NAME = "passport";
+    private static final String HEDGE_METRIC = "passport.hedge.requests";
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final PassportProperties.Resilience properties;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer latency;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+
+    public PassportResilience(PassportProperties passportProperties, MeterRegistry meterRegistry) {
+        this.properties = passportProperties.resilience();
+        this.circuitBreaker = CircuitBreaker.of(CIRCUIT_BREAKER_NAME, circuitBreakerConfig(properties.circuitBreaker()));
+        this.latency = Timer.builder("passport.fetch.latency")
+                .description("USER-SERVICE 의 Passport 발급 응답 시간")
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .register(meterRegistry);
+        this.hedgesSent = Counter.builder(HEDGE_METRIC)
+                .tag("outcome", "sent")
+                .description("p95 지연 시간을 넘겨 추가로 보낸 헤지 요청 수")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder(HEDGE_METRIC)
+                .tag("outcome", "won")
+                .description("원래 요청보다 먼저 응답한 헤지 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("passport.hedge.win.ratio", this, PassportResilience::hedgeWinRatio)
+                .description("보낸 헤지 요청 중 원래 요청보다 먼저 응답한 비율")
+                .register(meterRegistry);
+        Gauge.builder("passport.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState().getOrder())
+                .description("Passport 서킷 상태 (0: CLOSED, 1: OPEN, 2: HALF_OPEN)")
+                .register(meterRegistry);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            log.warn("Passport circuit breaker transitioned from {} to {}", transition.getFromState(), transition.getToState());
+            Counter.builder("passport.circuit-breaker.transitions")
+                    .tag("from", transition.getFromState().name())
+                    .tag("to", transition.getToState().name())
+                    .description("Passport 서킷 상태 전이 횟수")
+                    .register(meterRegistry)
+                    .increment();
+        });
+    }
+
+    /**
+     * 발급 호출에 헤지 요청, 시간 예산, 서킷 브레이커를 적용합니다.
+     * 서킷이 열려 있으면 호출하지 않고 CallNotPermittedException 으로 바로 실패합니다.
+     * @param call 발급 요청을 만드는 함수, 헤지 요청을 보낼 때마다 다시 호출됩니다.
+     * @return Passport 데이터
+     */
+    public Mono<Map<String, String>> execute(Supplier<Mono<Map<String, String>>> call) {
+        return hedged(call)
+                .timeout(properties.timeout())
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    /**
+     * USER-SERVICE 장애로 인한 실패인지 판단합니다. 토큰 문제로 인한 4xx 응답은 장애로 보지 않습니다.
+     */
+    public static boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof ApplicationException) {
+            return false;
+        }
+        return !(error instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError());
+    }
+
+    public PassportProperties.Resilience.FallbackPolicy fallbackPolicy() {
+        return properties.fallback();
+    }
+
+    private Mono<Map<String, String>> hedged(Supplier<Mono<Map<String, String>>> call) {
+        if (!properties.hedge().enabled()) {
+            return timed(call);
+        }
+        return Mono.defer(() -> {
+            Mono<Attempt> primary = timed(call).map(passport -> new Attempt(passport, false));
+            // 헤지 요청의 실패는 원래 요청의 결과를 기다리도록 무시합니다.
+            Mono<Attempt> hedge = Mono.delay(hedgeDelay())
+                    .doOnNext(tick -> hedgesSent.increment())
+                    .then(timed(call))
+                    .map(passport -> new Attempt(passport, true))
+                    .onErrorResume(error -> Mono.never());
+            return Mono.firstWithSignal(primary, hedge)
+                    .doOnNext(attempt -> {
+                        if (attempt.hedged()) {
+                            hedgesWon.increment();
+                        }
+                    })
+                    .map(Attempt::passport);
+        });
+    }
+
+    private Mono<Map<String, String>> timed(Supplier<Mono<Map<String, String>>> call) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return call.get().doOnNext(passport -> latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Duration hedgeDelay() {
+        Duration minDelay = properties.hedge().minDelay();
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == HEDGE_PERCENTILE) {
+                long p95 = (long) percentile.value(TimeUnit.NANOSECONDS);
+                return p95 > minDelay.toNanos() ? Duration.ofNanos(p95) : minDelay;
+            }
+        }
+        return minDelay;
+    }
+
+    private double hedgeWinRatio() {
+        double sent = hedgesSent.count();
+        return sent == 0 ? 0 : hedgesWon.count() / sent;
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(PassportProperties.Resilience.CircuitBreaker properties) {
+        return CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.failureRateThreshold())
+                .slidingWindowSize(properties.slidingWindowSize())
+                .minimumNumberOfCalls(properties.minimumNumberOfCalls())
+                .waitDurationInOpenState(properties.waitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.permittedNumberOfCallsInHalfOpenState())
+                .recordException(PassportResilience::isUpstreamFailure)
+                .build();
+    }
+
+    private record Attempt(Map<String, String> passport, boolean hedged) {
+    }
+}
@@ -0,0 +1,189 @@
+package codeping.flex.gateway.security.passport;
+
+import codeping.flex.gateway.global.common.exception.ApplicationException;
+import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import codeping.flex.gateway.security.jwt.TokenDigest;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@Component
+public class PassportService {
+
+    private static final String FETCH_METRIC = "passport.fetch.requests";
+
+    private final PassportClient passportClient;
+    private final PassportCache passportCache;
+    private final PassportBatcher passportBatcher;
+    private final PassportResilience passportResilience;
+    private final Set<String> localRoutes;
+    private final Map<String, String> localClaims;
+    private final Map<String, Mono<Map<String, String>>> inFlightFetches = new ConcurrentHashMap<>();
+    private final Counter localDerivations;
+    private final Counter leaderFetches;
+    private final Counter coalescedFetches;
+    private final Counter staleServes;
+
+    public PassportService(PassportClient passportClient, PassportCache passportCache, PassportBatcher passportBatcher,
+                           PassportResilience passportResilience, PassportProperties passportProperties,
+                           MeterRegistry meterRegistry) {
+        this.passportClient = passportClient;
+        this.passportCache = passportCache;
+        this.passportBatcher = passportBatcher;
+        this.passportResilience = passportResilience;
+        this.localRoutes = Set.copyOf(passportProperties.local().routes());
+        this.localClaims = passportProperties.local().claims();
+        this.localDerivations = Counter.builder("passport.local.derivations")
+                .description("USER-SERVICE 호출 없이 토큰 클레임으로 만든 Passport 수")
+                .register(meterRegistry);
+        this.leaderFetches = Counter.builder(FETCH_METRIC)
+                .tag("type", "leader")
+                .description("USER-SERVICE 로 실제 전송된 Passport 발급 요청 수")
+                .register(meterRegistry);
+        this.coalescedFetches = Counter.builder(FETCH_METRIC)
+                .tag("type", "coalesced")
+                .description("진행 중인 발급 요청에 합류한 Passport 요청 수")
+                .register(meterRegistry);
+        this.staleServes = Counter.builder("passport.fallback.stale")
+                .description("USER-SERVICE 장애로 TTL 이 지난 캐시 Passport 를 사용한 수")
+                .register(meterRegistry);
+        Gauge.builder("passport.fetch.coalescing.ratio", this, PassportService::coalescingRatio)
+                .description("캐시 미스 중 진행 중인 발급 요청에 합류한 비율")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 라우트의 Passport 모드에 따라 검증된 토큰 클레임으로 Passport 를 만들거나 USER-SERVICE 에서 발급받습니다.
+     * @param routeId     요청이 매칭된 gateway 라우트 id, 없으면 null
+     * @param accessToken 검증된 액세스 토큰
+     * @param claims      검증된 토큰 클레임
+     * @return Passport 데이터
+     */
+    public Mono<Map<String, String>> getPassport(String routeId, String accessToken, Claims claims) {
+        if (routeId != null && localRoutes.contains(routeId)) {
+            localDerivations.increment();
+            return Mono.just(deriveFromClaims(claims));
+        }
+        return getPassport(accessToken, claims.getExpiration().toInstant());
+    }
+
+    /**
+     * 검증된 토큰의 Passport 를 캐시에서 조회하고, 없으면 USER-SERVICE 에서 발급받아 캐시합니다.
+     * 같은 토큰으로 동시에 들어온 요청들은 하나의 발급 요청을 공유합니다.
+     * @param accessToken     검증된 액세스 토큰
+     * @param tokenExpiration 토큰의 exp 클레임
+     * @return Passport 데이터
+     */
+    public Mono<Map<String, String>> getPassport(String accessToken, Instant tokenExpiration) {
+        return Mono.defer(() -> {
+            String tokenHash = TokenDigest.sha256(accessToken);
+            Map<String, String> cached = passportCache.get(tokenHash);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return fetchShared(tokenHash, accessToken, tokenExpiration);
+        });
+    }
+
+    /**
+     * 토큰 검증이 제외된 경로에서 사용합니다. 검증되지 않은 토큰이므로 캐시하지 않습니다.
+     * @param accessToken 액세스 토큰
+     * @return Passport 데이터
+     */
+    public Mono<Map<String, String>> issuePassport(String accessToken) {
+        return passportResilience.execute(() -> passportClient.fetch(accessToken))
+                .onErrorMap(PassportResilience::isUpstreamFailure, this::unavailable);
+    }
+
+    /**
+     * 같은 토큰 해시에 대해 진행 중인 발급 요청이 있으면 그 결과를 공유하고, 없으면 새로 발급을 시작합니다.
+     * 발급 요청은 대기자의 구독과 분리되어 실행되므로 한 대기자가 취소해도 다른 대기자에게는 영향이 없고,
+     * 결과와 에러는 모든 대기자에게 전달됩니다. USER-SERVICE 장애 시에는 설정된 정책에 따라 대체 결과를 전달합니다.
+     */
+    private Mono<Map<String, String>> fetchShared(String tokenHash, String accessToken, Instant tokenExpiration) {
+        Sinks.One<Map<String, String>> sink = Sinks.one();
+        Mono<Map<String, String>> shared = sink.asMono();
+
+        Mono<Map<String, String>> inFlight = inFlightFetches.putIfAbsent(tokenHash, shared);
+        if (inFlight != null) {
+            coalescedFetches.increment();
+            return inFlight;
+        }
+
+        // 캐시 조회와 등록 사이에 직전 발급이 끝났을 수 있으므로 한 번 더 확인합니다.
+        Map<String, String> cached = passportCache.get(tokenHash);
+        if (cached != null) {
+            inFlightFetches.remove(tokenHash, shared);
+            sink.tryEmitValue(cached);
+            return shared;
+        }
+
+        leaderFetches.increment();
+        passportResilience.execute(() -> passportBatcher.fetch(accessToken)).subscribe(
+                passport -> {
+                    passportCache.put(tokenHash, passport, tokenExpiration);
+                    inFlightFetches.remove(tokenHash, shared);
+                    sink.tryEmitValue(passport);
+                },
+                error -> {
+                    inFlightFetches.remove(tokenHash, shared);
+                    fallback(tokenHash, error).subscribe(sink::tryEmitValue, sink::tryEmitError);
+                },
+                () -> {
+                    if (inFlightFetches.remove(tokenHash, shared)) {
+                        sink.tryEmitEmpty();
+                    }
+                });
+        return shared;
+    }
+
+    /**
+     * 서킷이 열려 있거나 시간 예산을 넘기는 등 USER-SERVICE 장애로 실패하면,
+     * STALE 정책에서는 TTL 이 지난 캐시 Passport 를 사용하고 그 외에는 503 으로 거절합니다.
+     */
+    private Mono<Map<String, String>> fallback(String tokenHash, Throwable error) {
+        if (!PassportResilience.isUpstreamFailure(error)) {
+            return Mono.error(error);
+        }
+        if (passportResilience.fallbackPolicy() == PassportProperties.Resilience.FallbackPolicy.STALE) {
+            Map<String, String> stale = passportCache.getStale(tokenHash);
+            if (stale != null) {
+                staleServes.increment();
+                return Mono.just(stale);
+            }
+        }
+        return Mono.error(unavailable(error));
+    }
+
+    private ApplicationException unavailable(Throwable error) {
+        ApplicationException exception = ApplicationException.from(GatewayErrorCode.PASSPORT_UNAVAILABLE);
+        exception.initCause(error);
+        return exception;
+    }
+
+    private Map<String, String> deriveFromClaims(Claims claims) {
+        Map<String, String> passport = new HashMap<>(localClaims.size());
+        localClaims.forEach((field, claim) -> {
+            Object value = claims.get(claim);
+            if (value != null) {
+                passport.put(field, value.toString());
+            }
+        });
+        return passport;
+    }
+
+    private double coalescingRatio() {
+        double coalesced = coalescedFetches.count();
+        double total = coalesced + leaderFetches.count();
+        return total == 0 ? 0 : coalesced / total;
+    }
+}
@@ -0,0 +1,10 @@
+package codeping.flex.gateway.stream;
+
+/**
+ * 한 종목의 시세 갱신입니다. 모든 구독자가 같은 인스턴스를 공유하므로 메시지는 한 번만 직렬화합니다.
+ * @param ticker  종목 코드
+ * @param payload 업스트림 응답 본문 (SSE data)
+ * @param message 종목 코드를 포함한 WebSocket 메시지
+ */
+public record Quote(String ticker, String payload, String message) {
+}
@@ -0,0 +1,186 @@
+package codeping.flex.gateway.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 종목마다 하나의 업스트림 조회 루프만 두고, 그 결과를 구독 중인 모든 클라이언트에 나누어 보냅니다.
+ * 마지막 구독자가 떠나면 idleGracePeriod 뒤 조회를 멈추며, 새 구독자는 가장 최근 시세부터 받습니다.
+ * 클라이언트별 버퍼는 clientBufferSize 로 제한되며, 느린 클라이언트는 오래된 시세부터 버립니다.
+ * 종목별 구독자 수와 조회 루프 시작/종료는 모두 streams.compute 안에서 바뀌므로,
+ * 조회를 멈추는 도중 들어온 구독자가 멈춘 루프에 붙거나 같은 종목에 루프가 둘 생기지 않습니다.
+ */
+@Slf4j
+@Component
+public class QuoteFanout {
+
+    private static final Pattern TICKER_PATTERN = Pattern.compile("[A-Za-z0-9]{1,12}");
+
+    private final QuoteSource quoteSource;
+    private final StockStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, TickerStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter upstreamPolls;
+    private final Counter droppedQuotes;
+
+    public QuoteFanout(QuoteSource quoteSource, StockStreamProperties properties, ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
+        this.quoteSource = quoteSource;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.upstreamPolls = Counter.builder("stock-stream.upstream.polls")
+                .description("종목 시세 업스트림 조회 수")
+                .register(meterRegistry);
+        this.droppedQuotes = Counter.builder("stock-stream.quotes.dropped")
+                .description("느린 클라이언트 버퍼에서 버려진 시세 수")
+                .register(meterRegistry);
+        Gauge.builder("stock-stream.tickers", streams, Map::size)
+                .description("조회 루프가 실행 중인 종목 수")
+                .register(meterRegistry);
+        Gauge.builder("stock-stream.subscribers", subscribers, AtomicInteger::get)
+                .description("시세 스트림에 연결된 클라이언트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 쉼표로 구분된 종목 코드 목록을 검증합니다.
+     * @param tickers 종목 코드 목록 (예: 005930,000660)
+     * @return 중복을 제거한 종목 코드 목록, 형식이 잘못되었거나 최대 개수를 넘으면 빈 목록
+     */
+    public List<String> parseTickers(String tickers) {
+        if (tickers == null) {
+            return List.of();
+        }
+        List<String> parsed = Arrays.stream(tickers.split(","))
+                .map(String::trim)
+                .distinct()
+                .toList();
+        boolean valid = !parsed.isEmpty()
+                && parsed.size() <= properties.maxTickersPerClient()
+                && parsed.stream().allMatch(ticker -> TICKER_PATTERN.matcher(ticker).matches());
+        return valid ? parsed : List.of();
+    }
+
+    /**
+     * 종목들의 시세 스트림을 구독합니다.
+     * @param tickers 검증된 종목 코드 목록
+     * @return 종목 시세 갱신 스트림
+     */
+    public Flux<Quote> subscribe(Collection<String> tickers) {
+        return Flux.defer(() -> {
+                    subscribers.incrementAndGet();
+                    return Flux.merge(tickers.stream().map(this::streamOf).toList());
+                })
+                .onBackpressureBuffer(properties.clientBufferSize(), dropped -> droppedQuotes.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    private Flux<Quote> streamOf(String ticker) {
+        return Flux.using(() -> acquire(ticker), TickerStream::quotes, stream -> release(ticker, stream));
+    }
+
+    private TickerStream acquire(String ticker) {
+        return streams.compute(ticker, (key, stream) -> {
+            TickerStream current = stream != null ? stream : poll(key);
+            current.subscribers++;
+            if (current.idleTimer != null) {
+                current.idleTimer.dispose();
+                current.idleTimer = null;
+            }
+            return current;
+        });
+    }
+
+    private void release(String ticker, TickerStream stream) {
+        streams.computeIfPresent(ticker, (key, current) -> {
+            if (current == stream && --current.subscribers == 0) {
+                current.idleTimer = Mono.delay(properties.idleGracePeriod())
+                        .subscribe(tick -> expire(ticker, current));
+            }
+            return current;
+        });
+    }
+
+    /**
+     * 유예 시간 동안 새 구독자가 없었으면 종목을 목록에서 빼고 조회 루프를 멈춥니다.
+     * 목록에서 빼는 것과 멈추는 것이 한 번에 일어나므로, 이후 구독자는 항상 새 루프를 시작합니다.
+     */
+    private void expire(String ticker, TickerStream stream) {
+        streams.computeIfPresent(ticker, (key, current) -> {
+            if (current != stream || current.subscribers > 0) {
+                return current;
+            }
+            current.connection.dispose();
+            return null;
+        });
+    }
+
+    private TickerStream poll(String ticker) {
+        ConnectableFlux<Quote> quotes = Flux.interval(properties.pollInterval())
+                .startWith(0L)
+                .onBackpressureDrop()
+                .concatMap(tick -> fetch(ticker), 1)
+                .distinctUntilChanged(Quote::payload)
+                .replay(1);
+        return new TickerStream(quotes, quotes.connect());
+    }
+
+    private Mono<Quote> fetch(String ticker) {
+        return quoteSource.fetch(ticker)
+                .doOnSubscribe(subscription -> upstreamPolls.increment())
+                .map(payload -> new Quote(ticker, payload, toMessage(ticker, payload)))
+                .onErrorResume(error -> {
+                    log.warn("Failed to fetch quote for {}: {}", ticker, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private String toMessage(String ticker, String payload) {
+        ObjectNode message = objectMapper.createObjectNode().put("ticker", ticker);
+        try {
+            message.set("quote", objectMapper.readTree(payload));
+        } catch (JsonProcessingException e) {
+            message.put("quote", payload);
+        }
+        return message.toString();
+    }
+
+    /**
+     * 종목 하나의 조회 루프와 구독자 수입니다. subscribers 와 idleTimer 는 streams.compute 안에서만 바꿉니다.
+     */
+    private static final class TickerStream {
+
+        private final Flux<Quote> quotes;
+        private final Disposable connection;
+        private int subscribers;
+        private Disposable idleTimer;
+
+        private TickerStream(Flux<Quote> quotes, Disposable connection) {
+            this.quotes = quotes;
+            this.connection = connection;
+        }
+
+        private Flux<Quote> quotes() {
+            return quotes;
+        }
+    }
+}
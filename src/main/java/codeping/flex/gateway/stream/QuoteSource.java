@@ -0,0 +1,15 @@
+package codeping.flex.gateway.stream;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 종목 시세를 한 번 조회합니다.
+ */
+public interface QuoteSource {
+
+    /**
+     * @param ticker 종목 코드
+     * @return 시세 JSON
+     */
+    Mono<String> fetch(String ticker);
+}
@@ -0,0 +1,32 @@
+package codeping.flex.gateway.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * STOCK-INTEGRATION-SERVICE 의 시세 조회 API 를 로드밸런서를 거쳐 호출합니다.
+ */
+@Component
+public class StockServiceQuoteSource implements QuoteSource {
+
+    private final WebClient stockServiceClient;
+    private final String quotePath;
+
+    public StockServiceQuoteSource(WebClient.Builder webClientBuilder, StockStreamProperties properties) {
+        this.stockServiceClient = webClientBuilder.clone()
+                .baseUrl(properties.serviceUri())
+                .build();
+        this.quotePath = properties.quotePath();
+    }
+
+    @Override
+    public Mono<String> fetch(String ticker) {
+        return stockServiceClient.get()
+                .uri(quotePath, ticker)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+}
@@ -0,0 +1,68 @@
+package codeping.flex.gateway.stream;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * tickers 쿼리 파라미터로 지정한 종목들의 시세를 SSE 또는 WebSocket 으로 전달합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockStreamHandler implements WebSocketHandler {
+
+    public static final String TICKERS_PARAM = "tickers";
+
+    private static final Duration SSE_HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final QuoteFanout quoteFanout;
+
+    /**
+     * 종목별 시세를 SSE 로 전달합니다. 이벤트 이름은 종목 코드, 데이터는 시세 JSON 입니다.
+     */
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        List<String> tickers = quoteFanout.parseTickers(request.queryParam(TICKERS_PARAM).orElse(null));
+        if (tickers.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+
+        Flux<ServerSentEvent<String>> quotes = quoteFanout.subscribe(tickers)
+                .map(quote -> ServerSentEvent.builder(quote.payload()).event(quote.ticker()).build());
+        Flux<ServerSentEvent<String>> heartbeats = Flux.interval(SSE_HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<String>builder().comment("heartbeat").build());
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(Flux.merge(quotes, heartbeats)));
+    }
+
+    /**
+     * 종목별 시세를 {"ticker": ..., "quote": ...} 형식의 텍스트 메시지로 전달합니다.
+     */
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        String rawTickers = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams()
+                .getFirst(TICKERS_PARAM);
+        List<String> tickers = quoteFanout.parseTickers(rawTickers);
+        if (tickers.isEmpty()) {
+            return session.close(CloseStatus.BAD_DATA);
+        }
+
+        return session.send(quoteFanout.subscribe(tickers)
+                .map(quote -> session.textMessage(quote.message()))
+                .takeUntilOther(session.receive().then()));
+    }
+}
@@ -0,0 +1,24 @@
+package codeping.flex.gateway.stream;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param serviceUri          시세를 조회할 서비스 (로드밸런서 서비스 id)
+ * @param quotePath           종목 시세 조회 경로, {ticker} 에 종목 코드가 들어감
+ * @param pollInterval        종목별 업스트림 조회 주기
+ * @param clientBufferSize    클라이언트별로 쌓아둘 최대 시세 수, 넘으면 오래된 시세부터 버림
+ * @param maxTickersPerClient 한 연결에서 구독할 수 있는 최대 종목 수
+ * @param idleGracePeriod     마지막 구독자가 떠난 뒤 종목 조회를 멈추기까지 기다리는 시간
+ */
+@ConfigurationProperties(prefix = "stock-stream")
+public record StockStreamProperties(
+        @DefaultValue("http://stock-integration-service") String serviceUri,
+        @DefaultValue("/api/kis/stocks/{ticker}") String quotePath,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("64") int clientBufferSize,
+        @DefaultValue("20") int maxTickersPerClient,
+        @DefaultValue("5s") Duration idleGracePeriod
+) {
+}
@@ -0,0 +1,45 @@
+package codeping.flex.gateway.transport;
+
+import io.netty.channel.ChannelOption;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * 전용 커넥션 풀이 있는 라우트는 그 풀의 HttpClient 로, 나머지는 기본 NettyRoutingFilter 처럼 공용 풀로 보냅니다.
+ * 기본 NettyRoutingFilter 는 spring.cloud.gateway.global-filter.netty-routing.enabled=false 로 끄고 이 필터가 대신합니다.
+ * 라우트 metadata 의 connect-timeout 은 전용 풀 HttpClient 에도 기본 필터와 같이 적용하고,
+ * response-timeout 은 기본 필터가 요청마다 적용합니다.
+ */
+public class PooledNettyRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamHttpClients upstreamHttpClients;
+
+    public PooledNettyRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                    HttpClientProperties properties, UpstreamHttpClients upstreamHttpClients) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.upstreamHttpClients = upstreamHttpClients;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient routeClient = upstreamHttpClients.get(route.getId());
+        if (routeClient == null) {
+            return super.getHttpClient(route, exchange);
+        }
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        return connectTimeout == null
+                ? routeClient
+                : routeClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, toInteger(connectTimeout));
+    }
+
+    private static Integer toInteger(Object value) {
+        return value instanceof Number number ? number.intValue() : Integer.valueOf(value.toString());
+    }
+}
@@ -0,0 +1,107 @@
+package codeping.flex.gateway.transport;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * upstream-transport.routes 에 등록한 라우트마다 전용 커넥션 풀을 가진 HttpClient 를 만듭니다.
+ * 요청이 많은 서비스가 공용 풀을 다 써서 다른 서비스 요청이 커넥션을 기다리거나 새로 맺는 일을 막습니다.
+ * 게이트웨이 HttpClient 를 만드는 HttpClientFactory 로 커넥션 풀만 바꿔 만들므로,
+ * spring.cloud.gateway.httpclient 의 SSL, 프록시, wiretap, 헤더 크기 제한과 HttpClientCustomizer 가 그대로 적용됩니다.
+ * 풀 메트릭은 reactor.netty.connection.provider.* 에 name 태그(라우트 id)로 노출됩니다.
+ */
+@Slf4j
+@Component
+public class UpstreamHttpClients {
+
+    private final Map<String, HttpClient> clients = new HashMap<>();
+    private final Map<String, ConnectionProvider> connectionProviders = new HashMap<>();
+
+    public UpstreamHttpClients(UpstreamTransportProperties properties, HttpClientProperties httpClientProperties,
+                               ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+                               ObjectProvider<HttpClientCustomizer> customizers) {
+        log.info("Upstream transport: native={}", properties.nativeTransport() && LoopResources.hasNativeSupport());
+        List<HttpClientCustomizer> orderedCustomizers = customizers.orderedStream().toList();
+        properties.routes().forEach((routeId, pool) -> {
+            ConnectionProvider connectionProvider = connectionProvider(routeId, pool);
+            connectionProviders.put(routeId, connectionProvider);
+            HttpClient httpClient = new RouteHttpClientFactory(connectionProvider, httpClientProperties, serverProperties,
+                    sslConfigurer, orderedCustomizers).build();
+            clients.put(routeId, pool.h2c() ? httpClient.protocol(HttpProtocol.H2C) : httpClient);
+        });
+    }
+
+    /**
+     * @return 라우트 전용 HttpClient, 등록하지 않은 라우트면 null
+     */
+    public HttpClient get(String routeId) {
+        return clients.get(routeId);
+    }
+
+    @PreDestroy
+    public void dispose() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private static ConnectionProvider connectionProvider(String routeId, UpstreamTransportProperties.Pool pool) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(routeId)
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(true);
+        if (pool.h2c()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.maxConnections())
+                    .minConnections(1)
+                    .maxConcurrentStreams(pool.maxConcurrentStreams())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 게이트웨이 HttpClient 와 같은 설정으로 만들되, 커넥션 풀은 라우트 전용 풀을 씁니다.
+     */
+    private static class RouteHttpClientFactory extends HttpClientFactory {
+
+        private final ConnectionProvider connectionProvider;
+
+        RouteHttpClientFactory(ConnectionProvider connectionProvider, HttpClientProperties properties,
+                               ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+                               List<HttpClientCustomizer> customizers) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.connectionProvider = connectionProvider;
+        }
+
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return connectionProvider;
+        }
+
+        HttpClient build() {
+            try {
+                return createInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to create upstream HttpClient for pool " + connectionProvider.name(), e);
+            }
+        }
+    }
+}
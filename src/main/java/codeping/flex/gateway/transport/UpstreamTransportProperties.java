@@ -0,0 +1,41 @@
+package codeping.flex.gateway.transport;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 등록하지 않은 라우트는 spring.cloud.gateway.httpclient.pool 의 공용 풀을 사용합니다.
+ *
+ * @param nativeTransport 리눅스에서 epoll 네이티브 전송 계층을 사용할지 여부 (사용할 수 없으면 NIO)
+ * @param routes          라우트 id 별 전용 커넥션 풀 설정
+ */
+@ConfigurationProperties(prefix = "upstream-transport")
+public record UpstreamTransportProperties(
+        @DefaultValue("true") boolean nativeTransport,
+        @DefaultValue Map<String, Pool> routes
+) {
+
+    /**
+     * @param maxConnections         풀의 최대 커넥션 수 (h2c 는 최대 HTTP/2 커넥션 수)
+     * @param pendingAcquireMaxCount 커넥션을 기다릴 수 있는 최대 요청 수, 넘으면 바로 실패
+     * @param pendingAcquireTimeout  커넥션을 기다리는 최대 시간
+     * @param maxIdleTime            이 시간 동안 쓰이지 않은 커넥션은 닫음
+     * @param maxLifeTime            만든 지 이 시간이 지난 커넥션은 닫음 (업스트림 재배포 후 새 인스턴스로 분산)
+     * @param evictionInterval       유휴, 수명 초과 커넥션을 백그라운드에서 정리하는 주기
+     * @param h2c                    업스트림이 HTTP/2 cleartext(prior knowledge)를 지원하면 커넥션 하나에 요청을 다중화
+     * @param maxConcurrentStreams   h2c 커넥션 하나에서 동시에 보낼 최대 요청 수
+     */
+    public record Pool(
+            @DefaultValue("200") int maxConnections,
+            @DefaultValue("1000") int pendingAcquireMaxCount,
+            @DefaultValue("5s") Duration pendingAcquireTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("10m") Duration maxLifeTime,
+            @DefaultValue("30s") Duration evictionInterval,
+            @DefaultValue("false") boolean h2c,
+            @DefaultValue("100") long maxConcurrentStreams
+    ) {
+    }
+}
@@ -0,0 +1,245 @@
+package codeping.flex.gateway.warmup;
+
+import codeping.flex.gateway.security.jwt.TokenDigest;
+import codeping.flex.gateway.security.jwt.key.KeyRingSigningKeyResolver;
+import codeping.flex.gateway.security.passport.PassportCache;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * 시작 직후 실제 필터 체인으로 합성 요청을 보내 인증 필터, Jackson, Netty 코덱이 JIT 컴파일된 뒤에 트래픽을 받게 합니다.
+ * 워밍업 요청은 임의 값의 헤더로만 매칭되는 gateway-warmup 라우트를 타고 내부 루프백 스텁으로 전달되며,
+ * 익명, 인증, 만료 토큰, API 문서 요청을 섞어 요청 수나 시간 제한에 닿을 때까지 보냅니다.
+ * 끝나기 전까지 {@link WarmupHealthIndicator} 가 OUT_OF_SERVICE 를 알려 readiness 프로브가 UP 이 되지 않습니다.
+ */
+@Slf4j
+@Component
+public class GatewayWarmup {
+
+    public static final String ROUTE_ID = "gateway-warmup";
+    public static final String WARMUP_HEADER = "X-Gateway-Warmup";
+
+    private static final WarmupScenario[] SCENARIOS = WarmupScenario.values();
+    private static final String STUB_BODY = "{\"warmup\":true}";
+    private static final String USER_ID = "0";
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(5);
+    private static final Map<String, String> PASSPORT = Map.of(
+            "id", USER_ID,
+            "role", "user",
+            "email", "warmup@do-flex.co.kr"
+    );
+
+    private final WarmupProperties properties;
+    private final KeyRingSigningKeyResolver signingKeyResolver;
+    private final PassportCache passportCache;
+    private final String secret = UUID.randomUUID().toString();
+    private final Map<WarmupScenario, WarmupLatencies> latencies = new EnumMap<>(WarmupScenario.class);
+    private final AtomicLong durationNanos = new AtomicLong();
+    private final DisposableServer stub;
+    private volatile int gatewayPort = -1;
+    private volatile boolean running;
+    private volatile boolean complete;
+
+    public GatewayWarmup(WarmupProperties properties, KeyRingSigningKeyResolver signingKeyResolver,
+                         PassportCache passportCache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.signingKeyResolver = signingKeyResolver;
+        this.passportCache = passportCache;
+        this.complete = !properties.enabled();
+        // 라우트를 만들 때 주소가 필요하므로 스텁은 워밍업보다 먼저 띄웁니다.
+        this.stub = properties.enabled()
+                ? HttpServer.create()
+                        .host("127.0.0.1")
+                        .port(0)
+                        .handle((request, response) -> response
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just(STUB_BODY)))
+                        .bindNow()
+                : null;
+
+        TimeGauge.builder("gateway.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("시작 후 워밍업에 걸린 시간")
+                .register(meterRegistry);
+        for (WarmupScenario scenario : SCENARIOS) {
+            WarmupLatencies scenarioLatencies = new WarmupLatencies(properties.sampleSize());
+            latencies.put(scenario, scenarioLatencies);
+            Gauge.builder("gateway.warmup.requests", scenarioLatencies, WarmupLatencies::count)
+                    .description("보낸 워밍업 요청 수")
+                    .tag("scenario", scenario.getTag())
+                    .register(meterRegistry);
+            TimeGauge.builder("gateway.warmup.latency", scenarioLatencies, TimeUnit.NANOSECONDS, WarmupLatencies::firstMeanNanos)
+                    .description("워밍업 처음과 마지막 요청들의 평균 지연 시간")
+                    .tags("scenario", scenario.getTag(), "phase", "first")
+                    .register(meterRegistry);
+            TimeGauge.builder("gateway.warmup.latency", scenarioLatencies, TimeUnit.NANOSECONDS, WarmupLatencies::lastMeanNanos)
+                    .description("워밍업 처음과 마지막 요청들의 평균 지연 시간")
+                    .tags("scenario", scenario.getTag(), "phase", "last")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return 워밍업 라우트가 전달할 루프백 스텁 주소
+     */
+    public URI stubUri() {
+        return URI.create(stub == null ? "http://127.0.0.1" : "http://127.0.0.1:" + stub.port());
+    }
+
+    /**
+     * 워밍업 중이고 이 프로세스가 만든 헤더 값을 가진 요청만 워밍업 라우트로 보냅니다.
+     */
+    public boolean accepts(ServerWebExchange exchange) {
+        return running && secret.equals(exchange.getRequest().getHeaders().getFirst(WARMUP_HEADER));
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public Duration duration() {
+        return Duration.ofNanos(durationNanos.get());
+    }
+
+    @EventListener
+    public void onWebServerInitialized(ReactiveWebServerInitializedEvent event) {
+        // 관리 포트를 따로 쓰면 management 네임스페이스 서버도 이벤트를 보내므로 애플리케이션 서버만 사용합니다.
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            gatewayPort = event.getWebServer().getPort();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (complete) {
+            return;
+        }
+        if (gatewayPort < 0) {
+            log.info("Skipping gateway warm-up: no reactive web server is running");
+            finish(0);
+            return;
+        }
+        run();
+    }
+
+    private void run() {
+        running = true;
+        long startedAt = System.nanoTime();
+        List<String> validTokens = tokens(Instant.now().plus(TOKEN_LIFETIME));
+        validTokens.forEach(token -> passportCache.put(TokenDigest.sha256(token), PASSPORT, Instant.now().plus(TOKEN_LIFETIME)));
+        List<String> expiredTokens = tokens(Instant.now().minusSeconds(60));
+
+        ConnectionProvider connectionProvider = ConnectionProvider.create(ROUTE_ID, properties.concurrency());
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .baseUrl("http://127.0.0.1:" + gatewayPort)
+                .headers(headers -> headers.set(WARMUP_HEADER, secret));
+
+        Flux.range(0, properties.iterations())
+                .flatMap(iteration -> send(httpClient, iteration, validTokens, expiredTokens), properties.concurrency())
+                .take(properties.timeBudget())
+                .doFinally(signal -> {
+                    connectionProvider.dispose();
+                    finish(System.nanoTime() - startedAt);
+                })
+                .subscribe(null, error -> log.warn("Gateway warm-up stopped early: {}", error.getMessage()));
+    }
+
+    private Mono<String> send(HttpClient httpClient, int iteration, List<String> validTokens, List<String> expiredTokens) {
+        WarmupScenario scenario = SCENARIOS[iteration % SCENARIOS.length];
+        int round = iteration / SCENARIOS.length;
+        String path = switch (scenario) {
+            case ANONYMOUS -> pick(properties.anonymousPaths(), round);
+            case PROTECTED, EXPIRED_TOKEN -> pick(properties.protectedPaths(), round);
+            case SWAGGER -> pick(properties.swaggerPaths(), round);
+        };
+        String token = switch (scenario) {
+            case PROTECTED -> pick(validTokens, round);
+            case EXPIRED_TOKEN -> pick(expiredTokens, round);
+            default -> null;
+        };
+
+        long startedAt = System.nanoTime();
+        return httpClient
+                .headers(headers -> {
+                    if (token != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+                    }
+                })
+                .get()
+                .uri(path)
+                .responseContent()
+                .aggregate()
+                .asString()
+                .doOnSuccess(body -> latencies.get(scenario).record(System.nanoTime() - startedAt))
+                .onErrorResume(error -> Mono.empty());
+    }
+
+    private void finish(long elapsedNanos) {
+        running = false;
+        durationNanos.set(elapsedNanos);
+        complete = true;
+        if (stub != null) {
+            stub.dispose();
+        }
+        if (elapsedNanos > 0) {
+            log.info("Gateway warm-up finished in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    latencies.entrySet().stream()
+                            .map(entry -> String.format("%s %d requests, %.2f ms -> %.2f ms", entry.getKey().getTag(),
+                                    entry.getValue().count(), entry.getValue().firstMeanNanos() / 1_000_000,
+                                    entry.getValue().lastMeanNanos() / 1_000_000))
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * 검증 캐시에 걸리지 않고 서명 검증을 거치도록 jti 가 모두 다른 토큰을 만듭니다.
+     */
+    private List<String> tokens(Instant expiration) {
+        SecretKey key = signingKeyResolver.current().resolve(null, Instant.now());
+        List<String> tokens = new ArrayList<>(properties.tokenPoolSize());
+        for (int i = 0; i < properties.tokenPoolSize(); i++) {
+            tokens.add(Jwts.builder()
+                    .setId(UUID.randomUUID().toString())
+                    .setSubject(USER_ID)
+                    .claim("id", USER_ID)
+                    .claim("role", "user")
+                    .claim("type", "ACCESS")
+                    .setExpiration(Date.from(expiration))
+                    .signWith(key)
+                    .compact());
+        }
+        return tokens;
+    }
+
+    private static <T> T pick(List<T> values, int round) {
+        return values.get(round % values.size());
+    }
+}
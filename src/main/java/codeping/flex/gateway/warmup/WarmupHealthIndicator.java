@@ -0,0 +1,27 @@
+package codeping.flex.gateway.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 워밍업이 끝날 때까지 OUT_OF_SERVICE 를 알립니다.
+ * management.endpoint.health.group.readiness 에 포함해 워밍업 전에는 readiness 프로브가 UP 이 되지 않게 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final GatewayWarmup gatewayWarmup;
+
+    @Override
+    public Health health() {
+        if (!gatewayWarmup.isComplete()) {
+            return Health.outOfService().build();
+        }
+        return Health.up()
+                .withDetail("durationMillis", gatewayWarmup.duration().toMillis())
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package codeping.flex.gateway.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 시나리오의 워밍업 요청 지연 시간을 완료 순서대로 모아 처음과 마지막 구간의 평균을 비교합니다.
+ */
+public class WarmupLatencies {
+
+    private final int sampleSize;
+    private final List<Long> latencies = new ArrayList<>();
+
+    public WarmupLatencies(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        latencies.add(latencyNanos);
+    }
+
+    public synchronized int count() {
+        return latencies.size();
+    }
+
+    /**
+     * @return 처음 sampleSize 개 요청의 평균 지연 시간(ns), 기록이 없으면 0
+     */
+    public synchronized double firstMeanNanos() {
+        return mean(0, Math.min(sampleSize, latencies.size()));
+    }
+
+    /**
+     * @return 마지막 sampleSize 개 요청의 평균 지연 시간(ns), 기록이 없으면 0
+     */
+    public synchronized double lastMeanNanos() {
+        return mean(Math.max(0, latencies.size() - sampleSize), latencies.size());
+    }
+
+    private double mean(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += latencies.get(i);
+        }
+        return (double) sum / (to - from);
+    }
+}
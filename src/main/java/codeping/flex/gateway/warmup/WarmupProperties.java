@@ -0,0 +1,31 @@
+package codeping.flex.gateway.warmup;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled         시작 후 준비(readiness) 상태가 되기 전에 워밍업 요청을 보낼지 여부 (prod 프로필에서만 기본으로 켬)
+ * @param iterations      보낼 워밍업 요청 수
+ * @param timeBudget      요청 수를 다 채우지 못해도 워밍업을 끝낼 최대 시간
+ * @param concurrency     동시에 보낼 워밍업 요청 수
+ * @param tokenPoolSize   서명 검증이 검증 캐시에 가려지지 않도록 미리 만들어 돌려 쓰는 토큰 수
+ * @param sampleSize      워밍업 전후 지연 시간으로 비교할 시나리오별 처음, 마지막 요청 수
+ * @param anonymousPaths  인증 없이 보낼 경로
+ * @param protectedPaths  유효한 토큰, 만료된 토큰으로 보낼 경로
+ * @param swaggerPaths    API 문서 경로
+ */
+@ConfigurationProperties(prefix = "warmup")
+public record WarmupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2000") int iterations,
+        @DefaultValue("30s") Duration timeBudget,
+        @DefaultValue("8") int concurrency,
+        @DefaultValue("256") int tokenPoolSize,
+        @DefaultValue("50") int sampleSize,
+        @DefaultValue({"/api/blogs/landings/latest", "/api/news-summary/todaynews"}) List<String> anonymousPaths,
+        @DefaultValue({"/api/posts/0", "/api/users/0"}) List<String> protectedPaths,
+        @DefaultValue({"/api/blog-service/v3/api-docs", "/api/user-service/v3/api-docs"}) List<String> swaggerPaths
+) {
+}
@@ -0,0 +1,19 @@
+package codeping.flex.gateway.warmup;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 워밍업 요청 종류입니다. 실제 트래픽처럼 인증 필터의 성공, 실패 경로를 모두 지나도록 섞어 보냅니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum WarmupScenario {
+
+    ANONYMOUS("anonymous"),
+    PROTECTED("protected"),
+    EXPIRED_TOKEN("expired_token"),
+    SWAGGER("swagger");
+
+    private final String tag;
+}
@@ -0,0 +1,190 @@
+package codeping.flex.gateway.integration.concurrency;
+
+import codeping.flex.gateway.concurrency.AdaptiveConcurrencyLimitFilter;
+import codeping.flex.gateway.concurrency.ConcurrencyLimitProperties;
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
+import codeping.flex.gateway.metrics.ExchangeTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 응답 시간을 바꿀 수 있는 로컬 스텁 서비스로 백엔드가 느려졌을 때 라우트 한도가 줄고 우선순위대로 차단되는지 검증합니다.
+ */
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final String LOW_ROUTE = "stock-test-service";
+    private static final String AUTH_ROUTE = "user-service";
+
+    private final Map<String, DisposableServer> services = new ConcurrentHashMap<>();
+    private final Map<String, AtomicReference<Duration>> latencies = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.create();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        startService(LOW_ROUTE, Duration.ofMillis(5));
+        startService(AUTH_ROUTE, Duration.ofMillis(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.values().forEach(DisposableServer::disposeNow);
+    }
+
+    /**
+     * 백엔드가 느려지면 라우트 한도가 줄어들고, 한도를 넘은 요청은 업스트림을 기다리지 않고 바로 503 을 받아야 함
+     */
+    @Test
+    void testSlowBackendShrinksLimitAndShedsFast() {
+        AdaptiveConcurrencyLimitFilter filter = filter(1000, 100);
+
+        Flux.range(0, 200)
+                .flatMap(i -> send(filter, LOW_ROUTE, "/api/back-test"), 4)
+                .blockLast(Duration.ofSeconds(30));
+
+        latencies.get(LOW_ROUTE).set(Duration.ofMillis(100));
+        List<Result> results = Flux.range(0, 400)
+                .delayElements(Duration.ofMillis(2))
+                .flatMap(i -> send(filter, LOW_ROUTE, "/api/back-test"), 32)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        List<Result> shed = results.stream().filter(result -> result.status() == HttpStatus.SERVICE_UNAVAILABLE).toList();
+        assertTrue(limitOf(LOW_ROUTE) < 10, "limit is still " + limitOf(LOW_ROUTE));
+        assertFalse(shed.isEmpty());
+        assertTrue(shed.stream().allMatch(result -> result.elapsedNanos() < TimeUnit.MILLISECONDS.toNanos(50)));
+        assertEquals(shed.size(), meterRegistry.get("gateway.concurrency.shed").tag("route", LOW_ROUTE).counter().count());
+    }
+
+    /**
+     * 게이트웨이 전체 한도에 가까워지면 낮은 우선순위 라우트는 차단되고 인증 요청은 계속 처리되어야 함
+     */
+    @Test
+    void testHighPriorityServedWhileLowPriorityIsShed() {
+        AdaptiveConcurrencyLimitFilter filter = filter(20, 100);
+        latencies.get(LOW_ROUTE).set(Duration.ofMillis(300));
+
+        Mono<List<Result>> low = Flux.range(0, 30)
+                .flatMap(i -> send(filter, LOW_ROUTE, "/api/back-test"), 30)
+                .collectList();
+        Mono<List<Result>> high = Flux.range(0, 5)
+                .delaySubscription(Duration.ofMillis(50))
+                .flatMap(i -> send(filter, AUTH_ROUTE, "/api/auth/login/kakao"), 5)
+                .collectList();
+        List<List<Result>> results = Flux.merge(low, high).collectList().block(Duration.ofSeconds(10));
+
+        List<Result> lowResults = results.stream().filter(list -> list.size() == 30).findFirst().orElseThrow();
+        List<Result> highResults = results.stream().filter(list -> list.size() == 5).findFirst().orElseThrow();
+        assertEquals(10, lowResults.stream().filter(result -> result.status() == HttpStatus.OK).count());
+        assertTrue(highResults.stream().allMatch(result -> result.status() == HttpStatus.OK));
+        assertEquals(20, meterRegistry.get("gateway.concurrency.shed").tag("priority", "LOW").counter().count());
+    }
+
+    /**
+     * 업스트림은 빠르고 클라이언트에 응답을 쓰는 시간만 길면 라우트 한도가 줄어들지 않아야 함
+     */
+    @Test
+    void testSlowResponseWriteDoesNotShrinkLimit() {
+        AdaptiveConcurrencyLimitFilter filter = filter(1000, 100);
+        GatewayFilterChain slowClient = exchange -> proxy().filter(exchange).then(Mono.delay(Duration.ofMillis(100))).then();
+
+        Flux.range(0, 200)
+                .flatMap(i -> send(filter, LOW_ROUTE, "/api/back-test"), 4)
+                .blockLast(Duration.ofSeconds(30));
+        double limitBefore = limitOf(LOW_ROUTE);
+        Flux.range(0, 200)
+                .flatMap(i -> send(filter, LOW_ROUTE, "/api/back-test", slowClient), 8)
+                .blockLast(Duration.ofSeconds(30));
+
+        assertTrue(limitOf(LOW_ROUTE) >= limitBefore, "limit shrank from " + limitBefore + " to " + limitOf(LOW_ROUTE));
+    }
+
+    private AdaptiveConcurrencyLimitFilter filter(int globalLimit, int maxLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(
+                true, 20, 2, maxLimit, 2.0, 0.2, 600, 0.9, globalLimit,
+                new ConcurrencyLimitProperties.Priorities(List.of("/api/auth/**"), List.of(LOW_ROUTE), 0.9, 0.5)
+        );
+        return new AdaptiveConcurrencyLimitFilter(properties, new AntPathMatcher(), new ErrorResponseBodies(new ObjectMapper()), meterRegistry);
+    }
+
+    private double limitOf(String routeId) {
+        return meterRegistry.get("gateway.concurrency.limit").tag("route", routeId).gauge().value();
+    }
+
+    private Mono<Result> send(AdaptiveConcurrencyLimitFilter filter, String routeId, String path) {
+        return send(filter, routeId, path, proxy());
+    }
+
+    private Mono<Result> send(AdaptiveConcurrencyLimitFilter filter, String routeId, String path, GatewayFilterChain chain) {
+        return Mono.defer(() -> {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+            Route route = Route.async()
+                    .id(routeId)
+                    .uri("lb://" + routeId)
+                    .predicate(serverWebExchange -> true)
+                    .build();
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+            long startedAt = System.nanoTime();
+            return filter.filter(exchange, chain)
+                    .then(Mono.fromSupplier(() -> new Result(exchange.getResponse().getStatusCode(), System.nanoTime() - startedAt)));
+        });
+    }
+
+    /**
+     * 라우트 id 에 해당하는 스텁 서비스로 요청을 보내고 응답 상태를 그대로 옮깁니다.
+     * UpstreamTimingFilter 처럼 업스트림 응답을 받은 시각을 exchange 에 남깁니다.
+     */
+    private GatewayFilterChain proxy() {
+        return exchange -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            DisposableServer service = services.get(route.getId());
+            ExchangeTimings timings = ExchangeTimings.of(exchange);
+            timings.upstreamStarted(System.nanoTime());
+            return httpClient.get()
+                    .uri("http://localhost:" + service.port() + exchange.getRequest().getPath().value())
+                    .responseSingle((response, body) -> {
+                        exchange.getResponse().setStatusCode(HttpStatusCode.valueOf(response.status().code()));
+                        return body.then();
+                    })
+                    .doOnTerminate(() -> timings.upstreamCompleted(System.nanoTime()));
+        };
+    }
+
+    private void startService(String serviceId, Duration latency) {
+        AtomicReference<Duration> serviceLatency = new AtomicReference<>(latency);
+        latencies.put(serviceId, serviceLatency);
+        services.put(serviceId, HttpServer.create()
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.defer(() -> Mono.delay(serviceLatency.get()).thenReturn(serviceId))))
+                .bindNow());
+    }
+
+    private record Result(HttpStatusCode status, long elapsedNanos) {
+    }
+}
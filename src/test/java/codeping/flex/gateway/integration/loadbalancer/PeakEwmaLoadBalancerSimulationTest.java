@@ -0,0 +1,97 @@
+package codeping.flex.gateway.integration.loadbalancer;
+
+import codeping.flex.gateway.loadbalancer.InstanceLatencyStats;
+import codeping.flex.gateway.loadbalancer.PeakEwmaLoadBalancer;
+import codeping.flex.gateway.loadbalancer.PeakEwmaProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 응답 시간이 다른 로컬 스텁 인스턴스들로 peak-EWMA 로드밸런서가 느린 인스턴스를 피하는지 검증합니다.
+ */
+public class PeakEwmaLoadBalancerSimulationTest {
+
+    private static final String SERVICE_ID = "stock-test-service";
+    private static final int REQUESTS = 300;
+    private static final int CONCURRENCY = 8;
+
+    private final List<DisposableServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(DisposableServer::disposeNow);
+    }
+
+    /**
+     * 느린 인스턴스는 라운드 로빈 몫(1/3)보다 훨씬 적은 요청을 받아야 함
+     */
+    @Test
+    void testSlowInstanceReceivesLessTraffic() {
+        ServiceInstance fast1 = startInstance("fast-1", Duration.ofMillis(5));
+        ServiceInstance fast2 = startInstance("fast-2", Duration.ofMillis(5));
+        ServiceInstance slow = startInstance("slow", Duration.ofMillis(150));
+
+        InstanceLatencyStats stats = new InstanceLatencyStats(new PeakEwmaProperties(List.of(SERVICE_ID), Duration.ofSeconds(10), Duration.ofSeconds(1)));
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(supplierOf(fast1, fast2, slow), SERVICE_ID, stats);
+        HttpClient httpClient = HttpClient.create();
+        Map<String, AtomicInteger> picks = new ConcurrentHashMap<>();
+
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> loadBalancer.choose(new DefaultRequest<>())
+                        .flatMap(response -> {
+                            ServiceInstance instance = response.getServer();
+                            picks.computeIfAbsent(instance.getInstanceId(), id -> new AtomicInteger()).incrementAndGet();
+                            long startedAt = System.nanoTime();
+                            stats.onStart(instance);
+                            return httpClient.get()
+                                    .uri(instance.getUri() + "/api/back-test")
+                                    .responseContent()
+                                    .aggregate()
+                                    .then()
+                                    .doFinally(signal -> stats.onComplete(instance, System.nanoTime() - startedAt, false));
+                        }), CONCURRENCY)
+                .blockLast(Duration.ofSeconds(60));
+
+        int slowPicks = picks.getOrDefault("slow", new AtomicInteger()).get();
+        assertTrue(slowPicks < REQUESTS / 10, "slow instance received " + slowPicks + " of " + REQUESTS + " requests: " + picks);
+    }
+
+    private ServiceInstance startInstance(String instanceId, Duration latency) {
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/back-test", (request, response) ->
+                        response.sendString(Mono.delay(latency).thenReturn(instanceId))))
+                .bindNow();
+        servers.add(server);
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "localhost", server.port(), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<ServiceInstanceListSupplier> supplierOf(ServiceInstance... instances) {
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from(SERVICE_ID, instances);
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(supplier);
+        return provider;
+    }
+}
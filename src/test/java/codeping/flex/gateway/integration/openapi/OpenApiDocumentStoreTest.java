@@ -0,0 +1,100 @@
+package codeping.flex.gateway.integration.openapi;
+
+import codeping.flex.gateway.openapi.OpenApiDocument;
+import codeping.flex.gateway.openapi.OpenApiDocumentProperties;
+import codeping.flex.gateway.openapi.OpenApiDocumentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 스텁 서비스가 돌려주는 API 문서를 받아 캐시하는지 검증합니다.
+ */
+public class OpenApiDocumentStoreTest {
+
+    private static final String DOCUMENT_PATH = "/api/user-service/v3/api-docs";
+    private static final String SERVICE_ID = "user-service";
+
+    private DisposableServer userService;
+
+    @AfterEach
+    void tearDown() {
+        if (userService != null) {
+            userService.disposeNow();
+        }
+    }
+
+    /**
+     * WebClient 기본 제한(256KB)보다 큰 문서도 받아 캐시하고, 원문을 그대로 보관해야 함
+     */
+    @Test
+    void testCachesDocumentLargerThanDefaultCodecLimit() throws InterruptedException {
+        String json = largeDocument(DataSize.ofKilobytes(1024));
+        userService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get(DOCUMENT_PATH, (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.just(json))))
+                .bindNow();
+        OpenApiDocumentStore store = store(DataSize.ofMegabytes(16));
+
+        store.onApplicationReady();
+        OpenApiDocument document = awaitDocument(store);
+
+        assertNotNull(document);
+        assertEquals(json, new String(document.json(), StandardCharsets.UTF_8));
+        assertTrue(document.gzipped().length < document.json().length);
+    }
+
+    private OpenApiDocumentStore store(DataSize maxSize) {
+        OpenApiDocumentProperties properties = new OpenApiDocumentProperties(
+                true, List.of(new OpenApiDocumentProperties.Document(DOCUMENT_PATH, SERVICE_ID)), null, Duration.ofSeconds(5), maxSize);
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances(SERVICE_ID))
+                .thenReturn(List.of(new DefaultServiceInstance("user-1", SERVICE_ID, "localhost", userService.port(), false)));
+        // 서비스 id 로 된 주소를 스텁 서비스 주소로 바꿔 보냅니다.
+        WebClient.Builder webClientBuilder = WebClient.builder()
+                .filter((request, next) -> next.exchange(ClientRequest.from(request)
+                        .url(URI.create("http://localhost:" + userService.port() + request.url().getPath()))
+                        .build()));
+        return new OpenApiDocumentStore(properties, discoveryClient, new ObjectMapper(), webClientBuilder, new SimpleMeterRegistry());
+    }
+
+    private OpenApiDocument awaitDocument(OpenApiDocumentStore store) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (store.get(DOCUMENT_PATH) == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return store.get(DOCUMENT_PATH);
+    }
+
+    private static String largeDocument(DataSize size) {
+        StringBuilder paths = new StringBuilder();
+        for (int i = 0; paths.length() < size.toBytes(); i++) {
+            if (i > 0) {
+                paths.append(',');
+            }
+            paths.append("\"/api/users/").append(i).append("\":{\"get\":{\"summary\":\"user ").append(i).append("\"}}");
+        }
+        return "{\"openapi\":\"3.0.1\",\"paths\":{" + paths + "}}";
+    }
+}
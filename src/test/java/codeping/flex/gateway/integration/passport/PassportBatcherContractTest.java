@@ -0,0 +1,223 @@
+package codeping.flex.gateway.integration.passport;
+
+import codeping.flex.gateway.security.passport.PassportBatcher;
+import codeping.flex.gateway.security.passport.PassportClient;
+import codeping.flex.gateway.security.passport.PassportProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * USER-SERVICE 의 Passport 발급 API 계약(/api/passport, /api/passport/bulk)을 흉내 낸 스텁 서버로
+ * 일괄 발급 요청과 결과 분배, 단건 발급 대체를 검증합니다.
+ */
+public class PassportBatcherContractTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final AtomicInteger bulkRequests = new AtomicInteger();
+    private final AtomicInteger singleRequests = new AtomicInteger();
+    private final List<Integer> bulkSizes = new ArrayList<>();
+    private DisposableServer userService;
+
+    @AfterEach
+    void tearDown() {
+        if (userService != null) {
+            userService.disposeNow();
+        }
+    }
+
+    /**
+     * window 안에 들어온 요청들은 한 번의 일괄 발급 요청으로 묶이고, 결과는 토큰별로 나누어 전달되어야 함
+     */
+    @Test
+    void testConcurrentFetchesShareSingleBulkRequest() {
+        startUserService(true);
+        PassportBatcher passportBatcher = passportBatcher();
+
+        List<Map<String, String>> passports = Flux.range(1, 10)
+                .flatMap(i -> passportBatcher.fetch("token-" + i).map(passport -> Map.of("token", "token-" + i, "id", passport.get("id"))))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertNotNull(passports);
+        assertEquals(10, passports.size());
+        passports.forEach(passport -> assertEquals(passport.get("token"), "token-" + passport.get("id")));
+        assertEquals(1, bulkRequests.get());
+        assertEquals(List.of(10), bulkSizes);
+        assertEquals(0, singleRequests.get());
+        passportBatcher.stop();
+    }
+
+    /**
+     * 일괄 발급 API 가 없으면(404) 단건 발급으로 대신하고, 이후 요청은 일괄 발급을 시도하지 않아야 함
+     */
+    @Test
+    void testMissingBulkEndpointFallsBackToSingleRequests() {
+        startUserService(false);
+        PassportBatcher passportBatcher = passportBatcher();
+
+        StepVerifier.create(Flux.range(1, 5).flatMap(i -> passportBatcher.fetch("token-" + i)).count())
+                .expectNext(5L)
+                .verifyComplete();
+        StepVerifier.create(passportBatcher.fetch("token-6").zipWith(passportBatcher.fetch("token-7")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(1, bulkRequests.get());
+        assertEquals(7, singleRequests.get());
+        passportBatcher.stop();
+    }
+
+    /**
+     * 여러 스레드가 동시에 요청해도 모든 요청이 빠짐없이 자기 Passport 를 받아야 함
+     */
+    @Test
+    void testFetchesFromManyThreadsAllResolve() throws Exception {
+        startUserService(true);
+        PassportBatcher passportBatcher = passportBatcher(Duration.ofMillis(20), 1024);
+        int threads = 8;
+        int fetchesPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<List<Map<String, String>>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return Flux.range(0, fetchesPerThread)
+                            .flatMap(i -> passportBatcher.fetch("token-" + (thread * fetchesPerThread + i)))
+                            .collectList()
+                            .block(Duration.ofSeconds(10));
+                }));
+            }
+            start.countDown();
+
+            int resolved = 0;
+            for (Future<List<Map<String, String>>> result : results) {
+                resolved += result.get(15, TimeUnit.SECONDS).size();
+            }
+            assertEquals(threads * fetchesPerThread, resolved);
+            synchronized (bulkSizes) {
+                assertEquals(threads * fetchesPerThread, bulkSizes.stream().mapToInt(Integer::intValue).sum() + singleRequests.get());
+            }
+        } finally {
+            executor.shutdownNow();
+            passportBatcher.stop();
+        }
+    }
+
+    /**
+     * 모이기를 기다리는 요청이 maxPending 을 넘으면 넘친 요청은 바로 단건 발급되어야 함
+     */
+    @Test
+    void testFullBacklogFallsBackToSingleRequests() {
+        startUserService(true);
+        PassportBatcher passportBatcher = passportBatcher(Duration.ofMillis(500), 2);
+
+        StepVerifier.create(Flux.range(1, 5).flatMap(i -> passportBatcher.fetch("token-" + i)).count())
+                .expectNext(5L)
+                .verifyComplete();
+
+        assertEquals(3, singleRequests.get());
+        assertEquals(List.of(2), bulkSizes);
+        passportBatcher.stop();
+    }
+
+    private PassportBatcher passportBatcher() {
+        return passportBatcher(Duration.ofMillis(200), 1024);
+    }
+
+    private PassportBatcher passportBatcher(Duration window, int maxPending) {
+        PassportProperties properties = new PassportProperties(
+                new PassportProperties.Cache(Duration.ofMinutes(1), 100),
+                new PassportProperties.Local(List.of(), Map.of()),
+                new PassportProperties.Batch(true, window, 64, Duration.ofMinutes(5), maxPending),
+                new PassportProperties.Resilience(
+                        Duration.ofSeconds(1),
+                        PassportProperties.Resilience.FallbackPolicy.REJECT,
+                        Duration.ZERO,
+                        new PassportProperties.Resilience.CircuitBreaker(50, 20, 10, Duration.ofSeconds(10), 3),
+                        new PassportProperties.Resilience.Hedge(false, Duration.ofMillis(50))
+                )
+        );
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + userService.port())
+                .build();
+        return new PassportBatcher(new PassportClient(webClient), properties, new SimpleMeterRegistry());
+    }
+
+    private void startUserService(boolean bulkSupported) {
+        userService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/passport", (request, response) -> {
+                            singleRequests.incrementAndGet();
+                            String token = request.requestHeaders().get(HttpHeaders.AUTHORIZATION).substring("Bearer ".length());
+                            return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .sendString(Mono.just(toJson(passportOf(token))));
+                        })
+                        .post("/api/passport/bulk", (request, response) -> {
+                            bulkRequests.incrementAndGet();
+                            if (!bulkSupported) {
+                                return response.status(HttpResponseStatus.NOT_FOUND).send();
+                            }
+                            return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .sendString(request.receive().aggregate().asString().map(this::bulkResponse));
+                        }))
+                .bindNow();
+    }
+
+    private String bulkResponse(String body) {
+        try {
+            List<Map<String, String>> passports = new ArrayList<>();
+            for (JsonNode token : OBJECT_MAPPER.readTree(body).get("accessTokens")) {
+                passports.add(passportOf(token.asText()));
+            }
+            synchronized (bulkSizes) {
+                bulkSizes.add(passports.size());
+            }
+            return toJson(Map.of("passports", passports));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, String> passportOf(String token) {
+        return Map.of("id", token.substring("token-".length()));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package codeping.flex.gateway.integration.stream;
+
+import codeping.flex.gateway.stream.Quote;
+import codeping.flex.gateway.stream.QuoteFanout;
+import codeping.flex.gateway.stream.QuoteSource;
+import codeping.flex.gateway.stream.StockStreamProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스텁 시세 소스로 많은 구독자를 붙여 종목별 업스트림 조회가 하나로 합쳐지는지 확인하는 부하 하네스입니다.
+ */
+public class QuoteFanoutLoadTest {
+
+    private static final List<String> TICKERS = List.of("005930", "000660", "035420", "035720", "051910");
+    private static final int SUBSCRIBERS = 2_000;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration RUN_TIME = Duration.ofSeconds(1);
+
+    /**
+     * 구독자 수와 관계없이 업스트림 조회는 종목별 조회 주기만큼만 발생해야 함
+     */
+    @Test
+    void testManySubscribersShareOnePollPerTicker() throws InterruptedException {
+        StubQuoteSource quoteSource = new StubQuoteSource();
+        QuoteFanout quoteFanout = quoteFanout(quoteSource, 64);
+        AtomicLong delivered = new AtomicLong();
+        Map<Integer, AtomicInteger> receivedBySubscriber = new ConcurrentHashMap<>();
+
+        List<Disposable> subscriptions = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            int subscriber = i;
+            List<String> tickers = List.of(TICKERS.get(i % TICKERS.size()), TICKERS.get((i + 1) % TICKERS.size()));
+            subscriptions.add(quoteFanout.subscribe(tickers).subscribe(quote -> {
+                delivered.incrementAndGet();
+                receivedBySubscriber.computeIfAbsent(subscriber, key -> new AtomicInteger()).incrementAndGet();
+            }));
+        }
+        Thread.sleep(RUN_TIME.toMillis());
+        subscriptions.forEach(Disposable::dispose);
+
+        long maxPollsPerTicker = RUN_TIME.toMillis() / POLL_INTERVAL.toMillis() + 2;
+        quoteSource.fetches.forEach((ticker, fetches) ->
+                assertTrue(fetches.get() <= maxPollsPerTicker, ticker + " was fetched " + fetches.get() + " times"));
+        assertEquals(TICKERS.size(), quoteSource.fetches.size());
+        assertEquals(SUBSCRIBERS, receivedBySubscriber.size());
+        assertTrue(delivered.get() > SUBSCRIBERS * 2L, "delivered " + delivered.get() + " quotes");
+    }
+
+    /**
+     * 느린 구독자는 버퍼 크기만큼 최근 시세만 받고, 나머지는 오래된 것부터 버려져야 함
+     */
+    @Test
+    void testSlowSubscriberDropsOldestQuotes() {
+        StubQuoteSource quoteSource = new StubQuoteSource();
+        QuoteFanout quoteFanout = quoteFanout(quoteSource, 4);
+
+        StepVerifier.create(quoteFanout.subscribe(List.of("005930")), 0)
+                .then(() -> sleep(POLL_INTERVAL.multipliedBy(10)))
+                .thenRequest(4)
+                .expectNextMatches(quote -> sequenceOf(quote) > 4)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(quoteSource.fetches.get("005930").get() >= 8);
+    }
+
+    /**
+     * 유예 시간이 끝나는 순간 구독자가 드나들어도 종목별 조회 루프는 하나만 돌아야 함
+     */
+    @Test
+    void testChurnAroundIdleExpiryKeepsOnePollLoop() throws InterruptedException {
+        StubQuoteSource quoteSource = new StubQuoteSource();
+        QuoteFanout quoteFanout = quoteFanout(quoteSource, 64);
+        String ticker = TICKERS.get(0);
+
+        List<Thread> churners = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread churner = new Thread(() -> {
+                for (int i = 0; i < 20; i++) {
+                    quoteFanout.subscribe(List.of(ticker)).subscribe().dispose();
+                    // 유예 시간(100ms) 앞뒤로 다시 구독합니다.
+                    sleep(Duration.ofMillis(95 + (i + offset) % 10));
+                }
+            });
+            churner.start();
+            churners.add(churner);
+        }
+        for (Thread churner : churners) {
+            churner.join();
+        }
+
+        Disposable subscription = quoteFanout.subscribe(List.of(ticker)).subscribe();
+        int fetchesBefore = quoteSource.fetches.get(ticker).get();
+        Thread.sleep(RUN_TIME.toMillis());
+        int fetches = quoteSource.fetches.get(ticker).get() - fetchesBefore;
+        subscription.dispose();
+
+        long maxPollsPerTicker = RUN_TIME.toMillis() / POLL_INTERVAL.toMillis() + 2;
+        assertTrue(fetches <= maxPollsPerTicker, ticker + " was fetched " + fetches + " times");
+    }
+
+    private QuoteFanout quoteFanout(QuoteSource quoteSource, int clientBufferSize) {
+        StockStreamProperties properties = new StockStreamProperties(
+                "http://stock-integration-service",
+                "/api/kis/stocks/{ticker}",
+                POLL_INTERVAL,
+                clientBufferSize,
+                20,
+                Duration.ofMillis(100)
+        );
+        return new QuoteFanout(quoteSource, properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private static int sequenceOf(Quote quote) {
+        String payload = quote.payload();
+        return Integer.parseInt(payload.substring(payload.indexOf("\"seq\":") + 6, payload.length() - 1));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 호출마다 값이 바뀌는 시세를 돌려주고, 종목별 조회 횟수를 기록합니다.
+     */
+    private static class StubQuoteSource implements QuoteSource {
+
+        private final Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<String> fetch(String ticker) {
+            return Mono.fromSupplier(() -> {
+                int seq = fetches.computeIfAbsent(ticker, key -> new AtomicInteger()).incrementAndGet();
+                return "{\"ticker\":\"" + ticker + "\",\"seq\":" + seq + "}";
+            }).delayElement(Duration.ofMillis(5));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.accesslog.AccessLogRingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogRingBufferTest {
+
+    /**
+     * 용량은 2의 거듭제곱으로 올리고, 가득 차면 넣지 못하며 넣은 순서대로 꺼내야 함
+     */
+    @Test
+    void testRejectsWhenFullAndPollsInOrder() {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    /**
+     * 여러 스레드가 동시에 넣어도 넣는 데 성공한 원소는 빠짐없이 한 번씩 꺼내져야 함
+     */
+    @Test
+    void testConcurrentProducersLoseNothingAccepted() throws InterruptedException {
+        int producers = 8;
+        int perProducer = 20_000;
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(1024);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(base + i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Integer> polled = new HashSet<>();
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            Integer value = buffer.poll();
+            if (value != null) {
+                assertTrue(polled.add(value), "polled twice: " + value);
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(accepted.get(), polled.size());
+    }
+}
@@ -0,0 +1,71 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.security.filter.EndpointSecurity;
+import codeping.flex.gateway.security.filter.EndpointSecurityMatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointSecurityMatcherTest {
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Map<EndpointSecurity, List<String>> patterns = new EnumMap<>(EndpointSecurity.class);
+    private EndpointSecurityMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        patterns.put(EndpointSecurity.INTERNAL, List.of("/api/kis/stocks/**", "/api/stocks/image-url"));
+        patterns.put(EndpointSecurity.PUBLIC, List.of("/favicon.ico"));
+        patterns.put(EndpointSecurity.ANONYMOUS, List.of("/api/auth/login/**", "/api/auth/signup/**",
+                "/api/blogs/landings/latest", "/api/kis/stocks/**", "/api/users/{userId}/profile"));
+        patterns.put(EndpointSecurity.SWAGGER, List.of("/api/v3/api-docs/**", "/api/swagger-ui.html",
+                "/api/news-service/openapi.json", "/api/*/openapi.json", "/**/swagger-config"));
+        patterns.put(EndpointSecurity.EXCLUDE_VALIDATION, List.of("/api/auth/reissue"));
+        matcher = EndpointSecurityMatcher.compile(patterns, ANT_PATH_MATCHER);
+    }
+
+    /**
+     * 컴파일된 매처는 AntPathMatcher 로 분류를 순서대로 검사한 결과와 같아야 함
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/kis/stocks", "/api/kis/stocks/", "/api/kis/stocks/005930/price", "/api/kis/stocksx",
+            "/api/stocks/image-url", "/api/stocks/image-url/", "//api//stocks/image-url",
+            "/favicon.ico", "/favicon.ico/x",
+            "/api/auth/login", "/api/auth/login/kakao", "/api/auth/reissue", "/api/auth/reissue/",
+            "/api/blogs/landings/latest", "/api/blogs/landings", "/api/users/1/profile", "/api/users/1/profile/x",
+            "/api/v3/api-docs", "/api/v3/api-docs/swagger-config", "/api/swagger-ui.html",
+            "/api/image-service/openapi.json", "/api/image-service/v3/swagger-config",
+            "/api/users/profile", "/", ""
+    })
+    void testMatchesAntPathMatcher(String path) {
+        assertEquals(referenceMatch(path), matcher.match(path), path);
+    }
+
+    /**
+     * 여러 분류에 중복된 패턴은 우선순위가 높은 분류로 합쳐져야 함
+     */
+    @Test
+    void testDuplicatePatternsAreMerged() {
+        assertEquals(EndpointSecurity.INTERNAL, matcher.match("/api/kis/stocks/005930"));
+        assertTrue(matcher.match("/api/kis/stocks/005930").isAnonymous());
+    }
+
+    private EndpointSecurity referenceMatch(String path) {
+        for (Map.Entry<EndpointSecurity, List<String>> entry : patterns.entrySet()) {
+            if (entry.getValue().stream().anyMatch(pattern -> ANT_PATH_MATCHER.match(pattern, path))) {
+                return entry.getKey();
+            }
+        }
+        return EndpointSecurity.PROTECTED;
+    }
+}
@@ -0,0 +1,108 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.security.filter.EndpointSecurity;
+import codeping.flex.gateway.security.filter.EndpointSecurityPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndpointSecurityPolicyTest {
+
+    private static final String ANONYMOUS_KEY = "security.endpoints.anonymous[0]";
+
+    private final Map<String, Object> source = new HashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private EndpointSecurityPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        source.put(ANONYMOUS_KEY, "/api/blogs/**");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", source));
+        meterRegistry = new SimpleMeterRegistry();
+        policy = new EndpointSecurityPolicy(environment, new AntPathMatcher(), meterRegistry);
+    }
+
+    /**
+     * security.endpoints 가 바뀌면 새 정책으로 교체되고 버전과 컴파일 메트릭이 늘어나야 함
+     */
+    @Test
+    void testReloadSwapsPolicyAndIncrementsVersion() {
+        EndpointSecurityPolicy.CompiledPolicy previous = policy.current();
+        assertEquals(1, previous.version());
+        assertEquals(EndpointSecurity.ANONYMOUS, policy.match("/api/blogs/1"));
+
+        source.put(ANONYMOUS_KEY, "/api/news/**");
+        policy.onEnvironmentChange(new EnvironmentChangeEvent(Set.of(ANONYMOUS_KEY)));
+
+        assertEquals(2, policy.current().version());
+        assertEquals(EndpointSecurity.PROTECTED, policy.match("/api/blogs/1"));
+        assertEquals(EndpointSecurity.ANONYMOUS, policy.match("/api/news/1"));
+        // 교체 전에 가져간 정책은 그대로 이전 규칙으로 답해야 함
+        assertEquals(EndpointSecurity.ANONYMOUS, previous.matcher().match("/api/blogs/1"));
+        assertEquals(2.0, meterRegistry.get("security.endpoints.policy.version").gauge().value());
+        assertEquals(2, meterRegistry.get("security.endpoints.policy.compile").timer().count());
+    }
+
+    /**
+     * 관련 없는 키가 바뀌거나 내용이 같으면 정책을 다시 만들지 않아야 함
+     */
+    @Test
+    void testIgnoresUnrelatedOrUnchangedConfiguration() {
+        policy.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("passport.cache.ttl")));
+        policy.onEnvironmentChange(new EnvironmentChangeEvent(Set.of(ANONYMOUS_KEY)));
+
+        assertEquals(1, policy.current().version());
+        assertEquals(1, meterRegistry.get("security.endpoints.policy.compile").timer().count());
+    }
+
+    /**
+     * 교체 중에도 요청은 이전 정책이나 새 정책 중 하나의 결과만 받아야 함
+     */
+    @Test
+    void testLookupsDuringReloadSeeOnePolicy() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Future<?> reader = executor.submit(() -> {
+                started.countDown();
+                while (running.get()) {
+                    EndpointSecurityPolicy.CompiledPolicy snapshot = policy.current();
+                    boolean blogs = snapshot.matcher().match("/api/blogs/1").isAnonymous();
+                    boolean news = snapshot.matcher().match("/api/news/1").isAnonymous();
+                    assertTrue(blogs != news, "정책 v" + snapshot.version() + " 이 두 규칙을 섞어서 답함");
+                }
+            });
+            started.await();
+            for (int i = 0; i < 200; i++) {
+                source.put(ANONYMOUS_KEY, i % 2 == 0 ? "/api/news/**" : "/api/blogs/**");
+                policy.onEnvironmentChange(new EnvironmentChangeEvent(Set.of(ANONYMOUS_KEY)));
+            }
+            running.set(false);
+            reader.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(201, policy.current().version());
+        assertEquals(List.of("/api/blogs/**"), policy.current().properties().anonymous());
+    }
+}
@@ -0,0 +1,50 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.global.common.response.ApplicationResponse;
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
+import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ErrorResponseBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ErrorResponseBodies errorResponseBodies = new ErrorResponseBodies(objectMapper);
+
+    /**
+     * 미리 직렬화된 본문은 요청마다 직렬화한 ApplicationResponse 와 같아야 함
+     */
+    @Test
+    void testPreRenderedBodyMatchesSerializedResponse() throws Exception {
+        for (GatewayErrorCode errorCode : GatewayErrorCode.values()) {
+            MockServerHttpResponse response = new MockServerHttpResponse();
+            errorResponseBodies.write(response, errorCode).block();
+
+            String expected = objectMapper.writeValueAsString(ApplicationResponse.onFailure(errorCode.getCustomCode(), errorCode.getMessage(), null));
+            assertEquals(expected, response.getBodyAsString().block());
+            assertEquals(errorCode.getHttpStatus(), response.getStatusCode());
+        }
+    }
+
+    /**
+     * 상태 코드를 지정하면 에러 코드의 상태 대신 지정한 상태로 응답하고, 길이와 타입 헤더를 채워야 함
+     */
+    @Test
+    void testWritesWithGivenStatusAndHeaders() {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        errorResponseBodies.write(response, HttpStatus.UNAUTHORIZED, GatewayErrorCode.JWT_EXPIRED).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        String body = response.getBodyAsString().block();
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length, response.getHeaders().getContentLength());
+        assertTrue(body.contains(GatewayErrorCode.JWT_EXPIRED.getCustomCode()));
+    }
+}
@@ -0,0 +1,96 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.global.common.exception.ApplicationException;
+import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import codeping.flex.gateway.metrics.GatewayStage;
+import codeping.flex.gateway.metrics.GatewayStageTimers;
+import codeping.flex.gateway.metrics.SlowRoutesEndpoint;
+import codeping.flex.gateway.metrics.StageResult;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GatewayStageTimersTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayStageTimers gatewayStageTimers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gatewayStageTimers = new GatewayStageTimers(meterRegistry);
+    }
+
+    /**
+     * 같은 라우트, 구간, 결과는 하나의 타이머에 쌓이고 라우트가 없으면 unknown 으로 기록해야 함
+     */
+    @Test
+    void testRecordsIntoOneTimerPerRouteStageAndResult() {
+        gatewayStageTimers.record("blog-service", GatewayStage.UPSTREAM, StageResult.SUCCESS, Duration.ofMillis(10).toNanos());
+        gatewayStageTimers.record("blog-service", GatewayStage.UPSTREAM, StageResult.SUCCESS, Duration.ofMillis(20).toNanos());
+        gatewayStageTimers.record("blog-service", GatewayStage.UPSTREAM, StageResult.SERVER_ERROR, Duration.ofMillis(30).toNanos());
+        gatewayStageTimers.record(null, GatewayStage.TOKEN_EXTRACTION, StageResult.CLIENT_ERROR, 1_000);
+
+        Timer success = timer("blog-service", GatewayStage.UPSTREAM, StageResult.SUCCESS);
+        assertEquals(2, success.count());
+        assertEquals(30, success.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, timer("blog-service", GatewayStage.UPSTREAM, StageResult.SERVER_ERROR).count());
+        assertEquals(1, timer("unknown", GatewayStage.TOKEN_EXTRACTION, StageResult.CLIENT_ERROR).count());
+        assertEquals(3, meterRegistry.find(GatewayStageTimers.METRIC_NAME).timers().size());
+    }
+
+    /**
+     * Mono 구간은 성공과 에러를 결과별로 나눠 기록해야 함
+     */
+    @Test
+    void testTimesMonoBySignal() {
+        gatewayStageTimers.time(Mono.just("passport"), "user-service", GatewayStage.PASSPORT_FETCH).block();
+        Mono<Object> expired = gatewayStageTimers.time(Mono.error(ApplicationException.from(GatewayErrorCode.JWT_EXPIRED)),
+                "user-service", GatewayStage.TOKEN_VERIFICATION);
+        assertThrows(ApplicationException.class, expired::block);
+
+        assertEquals(1, timer("user-service", GatewayStage.PASSPORT_FETCH, StageResult.SUCCESS).count());
+        assertEquals(1, timer("user-service", GatewayStage.TOKEN_VERIFICATION, StageResult.CLIENT_ERROR).count());
+    }
+
+    /**
+     * slowroutes 엔드포인트는 전체 처리 시간 p99 가 긴 라우트부터 요청한 개수만큼 보여줘야 함
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSlowRoutesAreSortedByTotalP99() {
+        for (int i = 0; i < 100; i++) {
+            gatewayStageTimers.record("blog-service", GatewayStage.TOTAL, StageResult.SUCCESS, Duration.ofMillis(5).toNanos());
+            gatewayStageTimers.record("stock-service", GatewayStage.TOTAL, StageResult.SUCCESS, Duration.ofMillis(200).toNanos());
+            gatewayStageTimers.record("stock-service", GatewayStage.UPSTREAM, StageResult.SUCCESS, Duration.ofMillis(190).toNanos());
+            gatewayStageTimers.record("news-service", GatewayStage.TOTAL, StageResult.SUCCESS, Duration.ofMillis(50).toNanos());
+        }
+
+        Map<String, Object> body = new SlowRoutesEndpoint(gatewayStageTimers).slowRoutes(2);
+        List<Map<String, Object>> routes = (List<Map<String, Object>>) body.get("routes");
+
+        assertEquals(2, routes.size());
+        assertEquals("stock-service", routes.get(0).get("route"));
+        assertEquals("news-service", routes.get(1).get("route"));
+        assertEquals(100L, routes.get(0).get("count"));
+        assertTrue((double) routes.get(0).get("p99Millis") > (double) routes.get(1).get("p99Millis"));
+        assertTrue(((Map<String, Double>) routes.get(0).get("stageP99Millis")).containsKey("upstream"));
+    }
+
+    private Timer timer(String route, GatewayStage stage, StageResult result) {
+        return meterRegistry.get(GatewayStageTimers.METRIC_NAME)
+                .tag("route", route)
+                .tag("stage", stage.getTag())
+                .tag("result", result.getTag())
+                .timer();
+    }
+}
@@ -0,0 +1,73 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.warmup.GatewayWarmup;
+import codeping.flex.gateway.warmup.WarmupHealthIndicator;
+import codeping.flex.gateway.warmup.WarmupLatencies;
+import codeping.flex.gateway.warmup.WarmupProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GatewayWarmupTest {
+
+    /**
+     * 워밍업이 끝나기 전에는 OUT_OF_SERVICE, 끝나면 UP 이어야 함
+     */
+    @Test
+    void testReadinessWaitsForWarmup() {
+        GatewayWarmup gatewayWarmup = new GatewayWarmup(properties(true), null, null, new SimpleMeterRegistry());
+        WarmupHealthIndicator healthIndicator = new WarmupHealthIndicator(gatewayWarmup);
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+
+        // 웹 서버 포트를 받지 못했으므로 요청 없이 바로 끝나야 함
+        gatewayWarmup.onApplicationReady();
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    /**
+     * 워밍업을 끄면 처음부터 UP 이어야 함
+     */
+    @Test
+    void testDisabledWarmupIsReadyImmediately() {
+        GatewayWarmup gatewayWarmup = new GatewayWarmup(properties(false), null, null, new SimpleMeterRegistry());
+
+        assertEquals(Status.UP, new WarmupHealthIndicator(gatewayWarmup).health().getStatus());
+    }
+
+    /**
+     * 처음과 마지막 sampleSize 개 요청의 평균 지연 시간을 따로 계산해야 함
+     */
+    @Test
+    void testComparesFirstAndLastSamples() {
+        WarmupLatencies latencies = new WarmupLatencies(2);
+        assertEquals(0, latencies.firstMeanNanos());
+
+        for (long latency : new long[]{100, 80, 30, 12, 10}) {
+            latencies.record(latency);
+        }
+
+        assertEquals(5, latencies.count());
+        assertEquals(90, latencies.firstMeanNanos());
+        assertEquals(11, latencies.lastMeanNanos());
+    }
+
+    private WarmupProperties properties(boolean enabled) {
+        return new WarmupProperties(
+                enabled,
+                100,
+                Duration.ofSeconds(5),
+                4,
+                8,
+                10,
+                List.of("/api/blogs/landings/latest"),
+                List.of("/api/posts/0"),
+                List.of("/api/blog-service/v3/api-docs")
+        );
+    }
+}
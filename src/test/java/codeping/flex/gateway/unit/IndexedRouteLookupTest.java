@@ -0,0 +1,152 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.route.IndexedRoutePredicateHandlerMapping;
+import codeping.flex.gateway.route.RouteIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedRouteLookupTest {
+
+    private final AtomicBoolean headerRouteEnabled = new AtomicBoolean();
+    private final List<Route> routes = new ArrayList<>();
+    private final List<RouteDefinition> definitions = new ArrayList<>();
+    private IndexedRoutePredicateHandlerMapping handlerMapping;
+
+    @BeforeEach
+    void setUp() {
+        // 워밍업 라우트처럼 코드로 만든 라우트는 정의가 없어 항상 평가됩니다.
+        routes.add(Route.async()
+                .id("header-route")
+                .uri("http://localhost")
+                .predicate(exchange -> headerRouteEnabled.get())
+                .build());
+        addPathRoute("blog-service", "/api/blogs/**", "/api/posts/{postId}");
+        addPathRoute("blog-detail", "/api/blogs/{blogId}");
+        addPathRoute("stock-service", "/api/stocks/**");
+
+        handlerMapping = new IndexedRoutePredicateHandlerMapping(new FilteringWebHandler(List.of()),
+                () -> Flux.fromIterable(routes), () -> Flux.fromIterable(definitions),
+                new GlobalCorsProperties(), new StandardEnvironment());
+        handlerMapping.refreshIndex().block();
+    }
+
+    /**
+     * 트라이 후보에는 경로가 매칭될 수 있는 Path 라우트와 정의가 없는 라우트만 포함되어야 함
+     */
+    @Test
+    void testCandidatesContainMatchingPathRoutesAndFallbackRoutes() {
+        RouteIndex index = RouteIndex.build(routes, definitions);
+
+        assertEquals(bits(0, 1, 2), index.candidates(PathContainer.parsePath("/api/blogs/7")));
+        assertEquals(bits(0, 1), index.candidates(PathContainer.parsePath("/api/blogs")));
+        assertEquals(bits(0, 1), index.candidates(PathContainer.parsePath("/api/posts/3")));
+        assertEquals(bits(0), index.candidates(PathContainer.parsePath("/api/posts/3/comments")));
+        assertEquals(bits(0), index.candidates(PathContainer.parsePath("/api/news")));
+        assertEquals(1, index.fallbackSize());
+    }
+
+    /**
+     * 여러 라우트가 매칭되면 순차 평가처럼 우선순위가 높은 라우트를 골라야 함
+     */
+    @Test
+    void testPicksHighestPriorityMatchingRoute() {
+        assertEquals("blog-service", lookup("/api/blogs/7"));
+        assertEquals("stock-service", lookup("/api/stocks/005930/prices"));
+        assertNull(lookup("/api/news"));
+
+        headerRouteEnabled.set(true);
+        assertEquals("header-route", lookup("/api/stocks/005930/prices"));
+    }
+
+    /**
+     * 실제 Path predicate 로 확인하므로 URI 템플릿 변수도 기존처럼 채워져야 함
+     */
+    @Test
+    void testKeepsUriTemplateVariables() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/posts/3"));
+
+        handlerMapping.getHandler(exchange).block();
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        assertEquals("blog-service", route.getId());
+        assertEquals(Map.of("postId", "3"), ServerWebExchangeUtils.getUriTemplateVariables(exchange));
+    }
+
+    /**
+     * 디스커버리 로케이터가 만든 라우트(pattern 인자)도 트라이에 들어가 항상 평가되는 라우트에서 빠져야 함
+     */
+    @Test
+    void testIndexesDiscoveryLocatorRoutes() {
+        routes.add(Route.async()
+                .id("ReactiveCompositeDiscoveryClient_USER-SERVICE")
+                .uri("lb://USER-SERVICE")
+                .order(routes.size())
+                .asyncPredicate(new PathRoutePredicateFactory().applyAsync(config -> config.setPatterns(List.of("/user-service/**"))))
+                .build());
+        // DiscoveryClientRouteDefinitionLocator 는 "'/'+serviceId+'/**'" 를 계산한 값을 pattern 인자로 넣습니다.
+        PredicateDefinition predicate = new PredicateDefinition();
+        predicate.setName("Path");
+        predicate.addArg("pattern", "/user-service/**");
+        RouteDefinition definition = new RouteDefinition();
+        definition.setId("ReactiveCompositeDiscoveryClient_USER-SERVICE");
+        definition.setUri(URI.create("lb://USER-SERVICE"));
+        definition.setPredicates(List.of(predicate));
+        definitions.add(definition);
+
+        RouteIndex index = RouteIndex.build(routes, definitions);
+
+        assertEquals(1, index.fallbackSize());
+        assertEquals(bits(0, 4), index.candidates(PathContainer.parsePath("/user-service/api/users/1")));
+        assertEquals(bits(0), index.candidates(PathContainer.parsePath("/api/news")));
+    }
+
+    private String lookup(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        handlerMapping.getHandler(exchange).block();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route == null ? null : route.getId();
+    }
+
+    private void addPathRoute(String id, String... patterns) {
+        routes.add(Route.async()
+                .id(id)
+                .uri("http://localhost")
+                .order(routes.size())
+                .asyncPredicate(new PathRoutePredicateFactory().applyAsync(config -> config.setPatterns(List.of(patterns))))
+                .build());
+        RouteDefinition definition = new RouteDefinition();
+        definition.setId(id);
+        definition.setUri(URI.create("http://localhost"));
+        definition.setPredicates(List.of(new PredicateDefinition("Path=" + String.join(",", patterns))));
+        definitions.add(definition);
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
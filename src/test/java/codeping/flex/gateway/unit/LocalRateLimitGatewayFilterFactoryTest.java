@@ -0,0 +1,119 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.ratelimit.LocalRateLimitGatewayFilterFactory;
+import codeping.flex.gateway.ratelimit.RateLimitBuckets;
+import codeping.flex.gateway.security.filter.AccessTokenFilter;
+import codeping.flex.gateway.global.common.response.ErrorResponseBodies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalRateLimitGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "stock-test-service";
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+    private SimpleMeterRegistry meterRegistry;
+    private LocalRateLimitGatewayFilterFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new LocalRateLimitGatewayFilterFactory(new RateLimitBuckets(meterRegistry), new ErrorResponseBodies(new ObjectMapper()), meterRegistry);
+    }
+
+    /**
+     * 버킷 크기만큼은 통과시키고, 그 이후 요청은 Retry-After 와 함께 429 로 거절해야 함
+     */
+    @Test
+    void testRejectsWithRetryAfterWhenBucketIsEmpty() {
+        GatewayFilter filter = filter(1, 2, LocalRateLimitGatewayFilterFactory.KeyType.USER);
+
+        MockServerWebExchange first = exchange("1", "10.0.0.1");
+        filter.filter(first, chain).block();
+        filter.filter(exchange("1", "10.0.0.1"), chain).block();
+        MockServerWebExchange rejected = exchange("1", "10.0.0.1");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(2, forwarded.get());
+        assertEquals("1", first.getResponse().getHeaders().getFirst(LocalRateLimitGatewayFilterFactory.REMAINING_HEADER));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getResponse().getBodyAsString().block().contains("COMMON_007"));
+        assertEquals(1, meterRegistry.get("gateway.rate-limit.rejected").tag("route", ROUTE_ID).counter().count());
+    }
+
+    /**
+     * 사용자 단위 제한은 사용자마다 따로 적용되고, 토큰이 없는 요청은 IP 로 구분해야 함
+     */
+    @Test
+    void testUserBucketsAreIndependentAndAnonymousFallsBackToIp() {
+        GatewayFilter filter = filter(1, 1, LocalRateLimitGatewayFilterFactory.KeyType.USER);
+
+        filter.filter(exchange("1", "10.0.0.1"), chain).block();
+        filter.filter(exchange("2", "10.0.0.1"), chain).block();
+        filter.filter(exchange(null, "10.0.0.1"), chain).block();
+        filter.filter(exchange(null, "10.0.0.2"), chain).block();
+        MockServerWebExchange rejected = exchange(null, "10.0.0.2");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(4, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+
+    /**
+     * 라우트 단위 제한은 사용자와 관계없이 라우트 전체 요청에 적용되어야 함
+     */
+    @Test
+    void testRouteBucketIsSharedByAllUsers() {
+        GatewayFilter filter = filter(1, 2, LocalRateLimitGatewayFilterFactory.KeyType.ROUTE);
+
+        filter.filter(exchange("1", "10.0.0.1"), chain).block();
+        filter.filter(exchange("2", "10.0.0.2"), chain).block();
+        filter.filter(exchange("3", "10.0.0.3"), chain).block();
+
+        assertEquals(2, forwarded.get());
+    }
+
+    private GatewayFilter filter(int replenishRate, int burstCapacity, LocalRateLimitGatewayFilterFactory.KeyType keyType) {
+        LocalRateLimitGatewayFilterFactory.Config config = new LocalRateLimitGatewayFilterFactory.Config();
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        config.setKeyType(keyType);
+        return factory.apply(config);
+    }
+
+    private MockServerWebExchange exchange(String userId, String remoteAddress) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/back-test/run")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 443)));
+        Route route = Route.async()
+                .id(ROUTE_ID)
+                .uri("lb://stock-test-service")
+                .predicate(serverWebExchange -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        if (userId != null) {
+            exchange.getAttributes().put(AccessTokenFilter.VERIFIED_USER_ID_ATTR, userId);
+        }
+        return exchange;
+    }
+}
@@ -0,0 +1,84 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.openapi.OpenApiDocument;
+import codeping.flex.gateway.openapi.OpenApiDocumentStore;
+import codeping.flex.gateway.openapi.OpenApiDocumentWebFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OpenApiDocumentWebFilterTest {
+
+    private static final String DOCUMENT_PATH = "/api/user-service/v3/api-docs";
+    private static final OpenApiDocument DOCUMENT = OpenApiDocument.of("{\"openapi\":\"3.0.1\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final AtomicBoolean proxied = new AtomicBoolean();
+    private final WebFilterChain chain = exchange -> {
+        proxied.set(true);
+        return Mono.empty();
+    };
+    private OpenApiDocumentWebFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        OpenApiDocumentStore store = mock(OpenApiDocumentStore.class);
+        when(store.get(DOCUMENT_PATH)).thenReturn(DOCUMENT);
+        filter = new OpenApiDocumentWebFilter(store);
+    }
+
+    /**
+     * gzip 을 받는 클라이언트에는 서비스로 전달하지 않고 압축된 문서를 ETag 와 함께 응답해야 함
+     */
+    @Test
+    void testServesCompressedDocumentWithETag() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(DOCUMENT_PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"));
+
+        filter.filter(exchange, chain).block();
+
+        assertFalse(proxied.get());
+        assertEquals(DOCUMENT.eTag(), exchange.getResponse().getHeaders().getETag());
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(DOCUMENT.gzipped().length, exchange.getResponse().getHeaders().getContentLength());
+    }
+
+    /**
+     * If-None-Match 가 ETag 와 같으면 본문 없이 304 로 응답해야 함
+     */
+    @Test
+    void testNotModifiedWhenETagMatches() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(DOCUMENT_PATH)
+                .ifNoneMatch(DOCUMENT.eTag()));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals(-1, exchange.getResponse().getHeaders().getContentLength());
+    }
+
+    /**
+     * gzip 을 받지 않는 클라이언트에는 압축을 풀어 응답하고, 캐시되지 않은 문서는 서비스로 전달해야 함
+     */
+    @Test
+    void testServesIdentityAndProxiesUncachedDocuments() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(DOCUMENT_PATH));
+        filter.filter(exchange, chain).block();
+
+        assertEquals("{\"openapi\":\"3.0.1\"}", exchange.getResponse().getBodyAsString().block());
+        assertFalse(proxied.get());
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/blog-service/v3/api-docs")), chain).block();
+        assertTrue(proxied.get());
+    }
+}
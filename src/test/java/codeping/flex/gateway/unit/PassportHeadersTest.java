@@ -0,0 +1,76 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.security.filter.PassportHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PassportHeadersTest {
+
+    private static final Map<String, String> PASSPORT = passport();
+
+    /**
+     * Passport 헤더는 원래 헤더 위에 보이고, 같은 이름의 클라이언트 헤더는 대소문자와 상관없이 가려야 함
+     */
+    @Test
+    void testOverlaysPassportHeadersOnOriginalHeaders() {
+        ServerHttpRequest original = MockServerHttpRequest.get("/api/blogs/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header("X-PP-ROLE", "admin")
+                .build();
+
+        HttpHeaders headers = PassportHeaders.addTo(original, PASSPORT).getHeaders();
+
+        assertEquals("1", headers.getFirst("x-pp-id"));
+        assertEquals(List.of("user"), headers.get("x-pp-role"));
+        assertEquals("user", headers.getFirst("X-PP-Role"));
+        assertEquals("Bearer token", headers.getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals(3, headers.size());
+        assertEquals(3, headers.entrySet().size());
+        assertEquals(List.of("x-pp-id", "x-pp-role", "Authorization"), List.copyOf(headers.keySet()));
+        assertEquals("admin", original.getHeaders().getFirst("x-pp-role"));
+        assertNull(original.getHeaders().getFirst("x-pp-id"));
+    }
+
+    /**
+     * 뒤 필터가 헤더를 바꿔도 원래 요청은 그대로이고 Passport 헤더는 유지되어야 함
+     */
+    @Test
+    void testMutatingAfterOverlayKeepsPassportHeaders() {
+        ServerHttpRequest original = MockServerHttpRequest.get("/api/blogs/1")
+                .header("X-Request-Id", "a")
+                .build();
+
+        ServerHttpRequest mutated = PassportHeaders.addTo(original, PASSPORT).mutate()
+                .headers(headers -> headers.add("X-Request-Id", "b"))
+                .build();
+
+        assertEquals(List.of("a", "b"), mutated.getHeaders().get("X-Request-Id"));
+        assertEquals("1", mutated.getHeaders().getFirst("x-pp-id"));
+        assertEquals(List.of("a"), original.getHeaders().get("X-Request-Id"));
+    }
+
+    /**
+     * 같은 필드의 헤더 이름은 매번 같은 인스턴스를 재사용해야 함
+     */
+    @Test
+    void testReusesHeaderNames() {
+        assertSame(PassportHeaders.headerName("id"), PassportHeaders.headerName("id"));
+        assertSame(PassportHeaders.headerName("blogName"), PassportHeaders.headerName("blogName"));
+        assertEquals("x-pp-blogName", PassportHeaders.headerName("blogName"));
+    }
+
+    private static Map<String, String> passport() {
+        Map<String, String> passport = new LinkedHashMap<>();
+        passport.put("id", "1");
+        passport.put("role", "user");
+        return passport;
+    }
+}
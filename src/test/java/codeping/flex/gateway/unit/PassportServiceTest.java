@@ -0,0 +1,196 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.global.common.exception.ApplicationException;
+import codeping.flex.gateway.global.common.response.code.GatewayErrorCode;
+import codeping.flex.gateway.security.passport.PassportBatcher;
+import codeping.flex.gateway.security.passport.PassportCache;
+import codeping.flex.gateway.security.passport.PassportClient;
+import codeping.flex.gateway.security.passport.PassportProperties;
+import codeping.flex.gateway.security.passport.PassportResilience;
+import codeping.flex.gateway.security.passport.PassportService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class PassportServiceTest {
+
+    private static final String TOKEN = "access-token";
+    private static final Map<String, String> PASSPORT = Map.of("id", "1");
+    private static final String LOCAL_ROUTE = "blog-service";
+
+    private PassportClient passportClient;
+    private SimpleMeterRegistry meterRegistry;
+    private PassportService passportService;
+
+    @BeforeEach
+    void setUp() {
+        passportClient = mock(PassportClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        passportService = passportService(Duration.ofMinutes(1), PassportProperties.Resilience.FallbackPolicy.STALE);
+    }
+
+    /**
+     * 같은 토큰의 동시 요청은 하나의 발급 요청을 공유하고, 이후 요청은 캐시에서 응답해야 함
+     */
+    @Test
+    void testConcurrentRequestsShareSingleFetch() {
+        Sinks.One<Map<String, String>> upstream = Sinks.one();
+        when(passportClient.fetch(anyString())).thenReturn(upstream.asMono());
+
+        Mono<Map<String, String>> first = passportService.getPassport(TOKEN, expiration());
+        Mono<Map<String, String>> second = passportService.getPassport(TOKEN, expiration());
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> upstream.tryEmitValue(PASSPORT))
+                .assertNext(tuple -> {
+                    assertEquals(PASSPORT, tuple.getT1());
+                    assertEquals(PASSPORT, tuple.getT2());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(passportService.getPassport(TOKEN, expiration()))
+                .expectNext(PASSPORT)
+                .verifyComplete();
+
+        verify(passportClient, times(1)).fetch(TOKEN);
+        assertEquals(0.5, meterRegistry.get("passport.fetch.coalescing.ratio").gauge().value());
+    }
+
+    /**
+     * 한 대기자가 취소해도 공유된 발급 요청은 계속 진행되어야 함
+     */
+    @Test
+    void testCancellationDoesNotCancelSharedFetch() {
+        Sinks.One<Map<String, String>> upstream = Sinks.one();
+        when(passportClient.fetch(anyString())).thenReturn(upstream.asMono());
+
+        Disposable cancelled = passportService.getPassport(TOKEN, expiration()).subscribe();
+        Mono<Map<String, String>> waiter = passportService.getPassport(TOKEN, expiration());
+        cancelled.dispose();
+
+        StepVerifier.create(waiter)
+                .then(() -> upstream.tryEmitValue(PASSPORT))
+                .expectNext(PASSPORT)
+                .verifyComplete();
+    }
+
+    /**
+     * 발급 실패는 모든 대기자에게 전달되고, 실패한 결과는 재사용되지 않아야 함
+     */
+    @Test
+    void testErrorPropagatesToAllWaiters() {
+        Sinks.One<Map<String, String>> upstream = Sinks.one();
+        when(passportClient.fetch(anyString())).thenReturn(upstream.asMono(), Mono.just(PASSPORT));
+
+        Mono<Map<String, String>> first = passportService.getPassport(TOKEN, expiration());
+        Mono<Map<String, String>> second = passportService.getPassport(TOKEN, expiration());
+
+        StepVerifier.create(Mono.zip(first.materialize(), second.materialize()))
+                .then(() -> upstream.tryEmitError(new IllegalStateException("USER-SERVICE unavailable")))
+                .assertNext(tuple -> {
+                    assertTrue(tuple.getT1().isOnError());
+                    assertTrue(tuple.getT2().isOnError());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(passportService.getPassport(TOKEN, expiration()))
+                .expectNext(PASSPORT)
+                .verifyComplete();
+    }
+
+    /**
+     * LOCAL 모드 라우트는 USER-SERVICE 호출 없이 토큰 클레임으로 Passport 를 만들어야 함
+     */
+    @Test
+    void testLocalRouteDerivesPassportFromClaims() {
+        Claims claims = Jwts.claims();
+        claims.put("id", "1");
+        claims.put("role", "user");
+        claims.put("email", "joowojr@gmail.com");
+
+        StepVerifier.create(passportService.getPassport(LOCAL_ROUTE, TOKEN, claims))
+                .expectNext(Map.of("id", "1", "role", "user"))
+                .verifyComplete();
+
+        verifyNoInteractions(passportClient);
+    }
+
+    /**
+     * STALE 정책에서는 USER-SERVICE 장애 시 TTL 이 지난 캐시 Passport 를 사용해야 함
+     */
+    @Test
+    void testUpstreamFailureServesStalePassport() {
+        passportService = passportService(Duration.ZERO, PassportProperties.Resilience.FallbackPolicy.STALE);
+        when(passportClient.fetch(anyString()))
+                .thenReturn(Mono.just(PASSPORT), Mono.error(new IllegalStateException("USER-SERVICE unavailable")));
+
+        StepVerifier.create(passportService.getPassport(TOKEN, expiration()))
+                .expectNext(PASSPORT)
+                .verifyComplete();
+        StepVerifier.create(passportService.getPassport(TOKEN, expiration()))
+                .expectNext(PASSPORT)
+                .verifyComplete();
+
+        verify(passportClient, times(2)).fetch(TOKEN);
+        assertEquals(1, meterRegistry.get("passport.fallback.stale").counter().count());
+    }
+
+    /**
+     * REJECT 정책에서는 USER-SERVICE 장애 시 캐시를 사용하지 않고 503 으로 거절해야 함
+     */
+    @Test
+    void testUpstreamFailureRejectsWithoutStalePassport() {
+        passportService = passportService(Duration.ZERO, PassportProperties.Resilience.FallbackPolicy.REJECT);
+        when(passportClient.fetch(anyString()))
+                .thenReturn(Mono.just(PASSPORT), Mono.error(new IllegalStateException("USER-SERVICE unavailable")));
+
+        StepVerifier.create(passportService.getPassport(TOKEN, expiration()))
+                .expectNext(PASSPORT)
+                .verifyComplete();
+        StepVerifier.create(passportService.getPassport(TOKEN, expiration()))
+                .expectErrorSatisfies(error -> assertEquals(GatewayErrorCode.PASSPORT_UNAVAILABLE, ((ApplicationException) error).getCode()))
+                .verify();
+    }
+
+    private PassportService passportService(Duration ttl, PassportProperties.Resilience.FallbackPolicy fallback) {
+        PassportProperties properties = new PassportProperties(
+                new PassportProperties.Cache(ttl, 100),
+                new PassportProperties.Local(List.of(LOCAL_ROUTE), Map.of("id", "id", "role", "role")),
+                new PassportProperties.Batch(false, Duration.ofMillis(2), 64, Duration.ofMinutes(5), 1024),
+                new PassportProperties.Resilience(
+                        Duration.ofSeconds(1),
+                        fallback,
+                        Duration.ofMinutes(5),
+                        new PassportProperties.Resilience.CircuitBreaker(50, 20, 10, Duration.ofSeconds(10), 3),
+                        new PassportProperties.Resilience.Hedge(false, Duration.ofMillis(50))
+                )
+        );
+        return new PassportService(
+                passportClient,
+                new PassportCache(properties, meterRegistry),
+                new PassportBatcher(passportClient, properties, meterRegistry),
+                new PassportResilience(properties, meterRegistry),
+                properties,
+                meterRegistry
+        );
+    }
+
+    private Instant expiration() {
+        return Instant.now().plusSeconds(1800);
+    }
+}
@@ -0,0 +1,64 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.loadbalancer.InstanceLatencyStats;
+import codeping.flex.gateway.loadbalancer.PeakEwmaLatencyFilter;
+import codeping.flex.gateway.loadbalancer.PeakEwmaProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PeakEwmaLatencyFilterTest {
+
+    private static final String SERVICE_ID = "stock-test-service";
+    private static final Duration FAILURE_PENALTY = Duration.ofSeconds(1);
+
+    private final InstanceLatencyStats stats = new InstanceLatencyStats(
+            new PeakEwmaProperties(List.of(SERVICE_ID), Duration.ofSeconds(10), FAILURE_PENALTY));
+    private final PeakEwmaLatencyFilter filter = new PeakEwmaLatencyFilter(stats);
+
+    /**
+     * 503 을 빠르게 돌려주는 인스턴스는 실패 패널티만큼 비용이 올라 정상 인스턴스보다 뒤로 밀려야 함
+     */
+    @Test
+    void testFastServerErrorsRaiseInstanceCost() {
+        ServiceInstance healthy = instance("healthy", 8081);
+        ServiceInstance failing = instance("failing", 8082);
+
+        for (int i = 0; i < 5; i++) {
+            filter.filter(exchange(healthy), respondWith(HttpStatus.OK)).block();
+            filter.filter(exchange(failing), respondWith(HttpStatus.SERVICE_UNAVAILABLE)).block();
+        }
+
+        assertTrue(stats.cost(failing) > FAILURE_PENALTY.toNanos() / 2, "failing instance cost " + stats.cost(failing));
+        assertTrue(stats.cost(healthy) < stats.cost(failing));
+    }
+
+    private MockServerWebExchange exchange(ServiceInstance instance) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/back-test"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(instance));
+        return exchange;
+    }
+
+    private static GatewayFilterChain respondWith(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+
+    private static ServiceInstance instance(String instanceId, int port) {
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "localhost", port, false);
+    }
+}
@@ -0,0 +1,144 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.cache.ResponseCacheFilter;
+import codeping.flex.gateway.cache.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheFilterTest {
+
+    private static final String ROUTE_ID = "blog-service";
+    private static final String CACHED_PATH = "/api/blogs/landings/latest";
+    private static final String PAYLOAD = "{\"posts\":[]}";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ResponseCacheProperties properties = new ResponseCacheProperties(
+                DataSize.ofMegabytes(1),
+                DataSize.ofKilobytes(64),
+                Map.of(ROUTE_ID, new ResponseCacheProperties.Route(Duration.ofMinutes(1), Duration.ofMinutes(1), List.of(CACHED_PATH)))
+        );
+        filter = new ResponseCacheFilter(properties, WebClient.builder(), meterRegistry);
+    }
+
+    /**
+     * 첫 요청은 업스트림에서 받아 캐시하고, 이후 요청은 업스트림 호출 없이 캐시된 응답을 써야 함
+     */
+    @Test
+    void testCachedResponseIsServedWithoutUpstreamCall() {
+        MockServerWebExchange first = exchange(CACHED_PATH);
+        filter.filter(first, upstream(Duration.ZERO)).block();
+        MockServerWebExchange second = exchange(CACHED_PATH);
+        filter.filter(second, upstream(Duration.ZERO)).block();
+
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("0", second.getResponse().getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        assertEquals(PAYLOAD, second.getResponse().getBodyAsString().block());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(0.5, meterRegistry.get("gateway.response-cache.hit.ratio").tag("route", ROUTE_ID).gauge().value());
+    }
+
+    /**
+     * 캐시에 없는 같은 요청이 동시에 들어오면 업스트림 호출은 한 번이어야 함
+     */
+    @Test
+    void testConcurrentMissesShareSingleUpstreamCall() {
+        MockServerWebExchange first = exchange(CACHED_PATH);
+        MockServerWebExchange second = exchange(CACHED_PATH);
+
+        Mono.when(filter.filter(first, upstream(Duration.ofMillis(100))), filter.filter(second, upstream(Duration.ofMillis(100))))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(PAYLOAD, first.getResponse().getBodyAsString().block());
+        assertEquals(PAYLOAD, second.getResponse().getBodyAsString().block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    /**
+     * 설정되지 않은 경로는 캐시하지 않아야 함
+     */
+    @Test
+    void testUnconfiguredPathIsNotCached() {
+        filter.filter(exchange("/api/blogs/1"), upstream(Duration.ZERO)).block();
+        filter.filter(exchange("/api/blogs/1"), upstream(Duration.ZERO)).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    /**
+     * 압축되었거나 Vary 가 있는 응답은 Accept-Encoding 이 다른 클라이언트에 줄 수 있으므로 캐시하지 않아야 함
+     */
+    @Test
+    void testEncodedOrVaryingResponseIsNotCached() {
+        GatewayFilterChain gzipped = upstream(Duration.ZERO, headers -> headers.set(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        filter.filter(exchange(CACHED_PATH), gzipped).block();
+        MockServerWebExchange plain = exchange(CACHED_PATH);
+        filter.filter(plain, upstream(Duration.ZERO)).block();
+
+        assertEquals("MISS", plain.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertNull(plain.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(2, upstreamCalls.get());
+
+        GatewayFilterChain varying = upstream(Duration.ZERO, headers -> headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        filter.filter(exchange(CACHED_PATH), varying).block();
+        filter.filter(exchange(CACHED_PATH), varying).block();
+
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    private MockServerWebExchange exchange(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        Route route = Route.async()
+                .id(ROUTE_ID)
+                .uri("lb://blog-service")
+                .predicate(serverWebExchange -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(Duration latency) {
+        return upstream(latency, headers -> {
+        });
+    }
+
+    private GatewayFilterChain upstream(Duration latency, Consumer<HttpHeaders> headers) {
+        return (ServerWebExchange exchange) -> Mono.delay(latency).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            headers.accept(exchange.getResponse().getHeaders());
+            byte[] body = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        }));
+    }
+}
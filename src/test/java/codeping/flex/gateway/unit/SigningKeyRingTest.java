@@ -0,0 +1,71 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.security.jwt.key.SigningKeyRing;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SigningKeyRingTest {
+
+    private static final SecretKey DEFAULT_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode("943cb527164de7a08667b48ae9279a3888545bdcb83f1da6d178370eb015aecb"));
+    private static final SecretKey OLD_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode("c2VjcmV0LWtleS1mb3Itb2xkLWtpZC1zaWduaW5nLXRva2Vucy0wMDAwMDAwMDAw"));
+    private static final SecretKey NEW_KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode("c2VjcmV0LWtleS1mb3ItbmV3LWtpZC1zaWduaW5nLXRva2Vucy0wMDAwMDAwMDAw"));
+    private static final Duration DRAIN_PERIOD = Duration.ofHours(1);
+
+    /**
+     * kid 가 없는 토큰은 기본 키로, kid 가 있는 토큰은 키 링의 키로 검증해야 함
+     */
+    @Test
+    void testResolveByKid() {
+        Instant now = Instant.now();
+        SigningKeyRing keyRing = SigningKeyRing.of(DEFAULT_KEY)
+                .rotate(Map.of("old", key("old", OLD_KEY)), now, DRAIN_PERIOD);
+
+        assertEquals(DEFAULT_KEY, keyRing.resolve(null, now));
+        assertEquals(OLD_KEY, keyRing.resolve("old", now));
+        assertNull(keyRing.resolve("unknown", now));
+    }
+
+    /**
+     * 키 링에서 빠진 키는 drain 기간 동안만 허용되어야 함
+     */
+    @Test
+    void testRemovedKeyDrainsGracefully() {
+        Instant now = Instant.now();
+        SigningKeyRing keyRing = SigningKeyRing.of(DEFAULT_KEY)
+                .rotate(Map.of("old", key("old", OLD_KEY)), now, DRAIN_PERIOD)
+                .rotate(Map.of("new", key("new", NEW_KEY)), now, DRAIN_PERIOD);
+
+        assertEquals(NEW_KEY, keyRing.resolve("new", now));
+        assertEquals(OLD_KEY, keyRing.resolve("old", now.plus(DRAIN_PERIOD).minusSeconds(1)));
+        assertNull(keyRing.resolve("old", now.plus(DRAIN_PERIOD)));
+        assertEquals(1, keyRing.countActive());
+        assertEquals(1, keyRing.countDraining(now));
+    }
+
+    /**
+     * drain 중인 키가 다시 설정되면 활성 키로 돌아와야 함
+     */
+    @Test
+    void testDrainingKeyCanBeRestored() {
+        Instant now = Instant.now();
+        SigningKeyRing keyRing = SigningKeyRing.of(DEFAULT_KEY)
+                .rotate(Map.of("old", key("old", OLD_KEY)), now, DRAIN_PERIOD)
+                .rotate(Map.of(), now, DRAIN_PERIOD)
+                .rotate(Map.of("old", key("old", OLD_KEY)), now, DRAIN_PERIOD);
+
+        assertEquals(OLD_KEY, keyRing.resolve("old", now.plus(DRAIN_PERIOD).plusSeconds(1)));
+        assertEquals(0, keyRing.countDraining(now));
+    }
+
+    private SigningKeyRing.SigningKey key(String kid, SecretKey secretKey) {
+        return new SigningKeyRing.SigningKey(kid, secretKey, null);
+    }
+}
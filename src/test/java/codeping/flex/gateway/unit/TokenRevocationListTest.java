@@ -0,0 +1,151 @@
+package codeping.flex.gateway.unit;
+
+import codeping.flex.gateway.security.jwt.TokenDigest;
+import codeping.flex.gateway.security.jwt.revocation.RevocationBloomFilter;
+import codeping.flex.gateway.security.jwt.revocation.RevocationFeed;
+import codeping.flex.gateway.security.jwt.revocation.RevocationProperties;
+import codeping.flex.gateway.security.jwt.revocation.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenRevocationListTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path feedFile;
+    private RevocationProperties properties;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        feedFile = tempDir.resolve("jwt-revocations.log");
+        properties = properties(1_000, Duration.ofDays(14));
+        revocationList = new TokenRevocationList(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * jti 가 있는 토큰은 jti 로, 없는 토큰은 토큰 해시로 폐기 여부를 판단해야 함
+     */
+    @Test
+    void testDetectsRevokedJtiAndTokenHash() {
+        revocationList.revoke("revoked-jti", Instant.now().plusSeconds(60));
+        revocationList.revoke(TokenDigest.sha256("header.payload.signature"), null);
+
+        assertTrue(revocationList.isRevoked("revoked-jti", "any"));
+        assertFalse(revocationList.isRevoked("other-jti", "any"));
+        assertTrue(revocationList.isRevoked(null, "header.payload.signature"));
+        assertFalse(revocationList.isRevoked(null, "header.payload.other"));
+    }
+
+    /**
+     * jti 가 있는 토큰도 토큰 해시로 폐기되었으면 폐기된 토큰으로 판단해야 함
+     */
+    @Test
+    void testDetectsTokenHashRevocationForTokenWithJti() {
+        revocationList.revoke("other-jti", null);
+        assertFalse(revocationList.isRevoked("token-jti", "header.payload.signature"));
+
+        revocationList.revoke(TokenDigest.sha256("header.payload.signature"), null);
+
+        assertTrue(revocationList.isRevoked("token-jti", "header.payload.signature"));
+        assertFalse(revocationList.isRevoked("token-jti", "header.payload.other"));
+        revocationList.rebuild();
+        assertTrue(revocationList.isRevoked("token-jti", "header.payload.signature"));
+    }
+
+    /**
+     * 폐기 항목은 maxTtl 보다 오래 보관하지 않고, maxEntries 가 차면 만료된 항목이 빠질 때까지 새 항목을 받지 않아야 함
+     */
+    @Test
+    void testCapsEntriesAndTtl() throws InterruptedException {
+        TokenRevocationList capped = new TokenRevocationList(properties(2, Duration.ofMillis(100)), new SimpleMeterRegistry());
+
+        assertTrue(capped.revoke("jti-1", Instant.now().plus(Duration.ofDays(365))));
+        assertTrue(capped.revoke("jti-2", null));
+        assertFalse(capped.revoke("jti-3", null));
+        assertTrue(capped.revoke("jti-1", null));
+        assertEquals(2, capped.size());
+
+        Thread.sleep(200);
+
+        assertFalse(capped.isRevoked("jti-1", "any"));
+        assertTrue(capped.revoke("jti-3", null));
+        assertEquals(1, capped.size());
+    }
+
+    /**
+     * 만료된 폐기 항목은 추가하지 않고, 재생성 때 정리해야 함
+     */
+    @Test
+    void testRebuildDropsExpiredEntries() throws InterruptedException {
+        assertFalse(revocationList.revoke("expired", Instant.now().minusSeconds(1)));
+        revocationList.revoke("short-lived", Instant.now().plusMillis(50));
+        revocationList.revoke("long-lived", Instant.now().plusSeconds(60));
+        Thread.sleep(100);
+
+        revocationList.rebuild();
+
+        assertEquals(1, revocationList.size());
+        assertFalse(revocationList.isRevoked("short-lived", "any"));
+        assertTrue(revocationList.isRevoked("long-lived", "any"));
+    }
+
+    /**
+     * 목표 개수만큼 넣은 Bloom 필터는 거짓 음성 없이 목표에 가까운 오탐률을 보여야 함
+     */
+    @Test
+    void testBloomFilterFalsePositiveRate() {
+        RevocationBloomFilter filter = RevocationBloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(i >= 10_000 || filter.mightContain("revoked-" + i));
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives / 100_000.0 < 0.02);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    /**
+     * 피드 파일은 새로 추가된 완성된 줄만 읽고, 파일이 교체되면 처음부터 다시 읽어야 함
+     */
+    @Test
+    void testFeedPullsOnlyAppendedLines() throws IOException {
+        RevocationFeed feed = new RevocationFeed(revocationList, properties);
+        Files.writeString(feedFile, "# jti [expiresAt]\njti-1 " + Instant.now().plusSeconds(60) + "\njti-2");
+
+        assertEquals(1, feed.pull());
+        Files.writeString(feedFile, "\njti-3\n", StandardOpenOption.APPEND);
+        assertEquals(2, feed.pull());
+        assertEquals(0, feed.pull());
+        assertTrue(revocationList.isRevoked("jti-2", "any"));
+
+        Files.writeString(feedFile, "jti-4\n");
+        assertEquals(1, feed.pull());
+        assertEquals(4, revocationList.size());
+    }
+
+    private RevocationProperties properties(int maxEntries, Duration maxTtl) {
+        return new RevocationProperties(true, 1_000, maxEntries, 0.001, Duration.ofMinutes(5), Duration.ofDays(14), maxTtl,
+                new RevocationProperties.Feed(feedFile.toString(), Duration.ofSeconds(10)));
+    }
+}